@@ -0,0 +1,95 @@
+package Backend.Config;
+
+import Backend.Model.ChallengeModel;
+import Backend.Model.CommentModel;
+import Backend.Model.RatingModel;
+import Backend.Model.RecipeModel;
+import Backend.service.RecipeFacetService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.annotation.Async;
+
+// Indexes are created in the background once the app is up, so a slow or unreachable cluster never blocks startup
+@Configuration
+public class MongoIndexConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public MongoIndexConfig(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            // Newest-first comment pages for one recipe
+            mongoTemplate.indexOps(CommentModel.class).ensureIndex(new Index()
+                    .on("recipeId", Sort.Direction.ASC)
+                    .on("createdAt", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named("recipeId_createdAt"));
+
+            // Most-helpful-first comment pages for one recipe
+            mongoTemplate.indexOps(CommentModel.class).ensureIndex(new Index()
+                    .on("recipeId", Sort.Direction.ASC)
+                    .on("helpful", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named("recipeId_helpful"));
+
+            // One rating per user per recipe
+            mongoTemplate.indexOps(RatingModel.class).ensureIndex(new Index()
+                    .on("recipeId", Sort.Direction.ASC)
+                    .on("userId", Sort.Direction.ASC)
+                    .unique()
+                    .named("recipeId_userId"));
+
+            // Faceted browse filters on normalized keys, newest first
+            for (RecipeFacetService.Facet facet : RecipeFacetService.Facet.values()) {
+                mongoTemplate.indexOps(RecipeModel.class).ensureIndex(new Index()
+                        .on(facet.getField(), Sort.Direction.ASC)
+                        .on("_id", Sort.Direction.DESC)
+                        .named(facet.getField() + "_id"));
+            }
+
+            // Cooking-time range filters and quickest/slowest sorts; also walked backwards for descending order
+            mongoTemplate.indexOps(RecipeModel.class).ensureIndex(new Index()
+                    .on("cookingTimeMinutes", Sort.Direction.ASC)
+                    .on("_id", Sort.Direction.ASC)
+                    .named("cookingTimeMinutes_id"));
+
+            // Top-rated lists, overall and per category
+            mongoTemplate.indexOps(RecipeModel.class).ensureIndex(new Index()
+                    .on("bayesianScore", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named("bayesianScore_id"));
+            mongoTemplate.indexOps(RecipeModel.class).ensureIndex(new Index()
+                    .on("categoryKey", Sort.Direction.ASC)
+                    .on("bayesianScore", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named("categoryKey_bayesianScore_id"));
+
+            // Exact reference checks made by the upload janitor before it deletes a file
+            mongoTemplate.indexOps(RecipeModel.class).ensureIndex(new Index()
+                    .on("mediaUrl", Sort.Direction.ASC)
+                    .sparse()
+                    .named("mediaUrl"));
+            mongoTemplate.indexOps(ChallengeModel.class).ensureIndex(new Index()
+                    .on("imageUrl", Sort.Direction.ASC)
+                    .sparse()
+                    .named("imageUrl"));
+        } catch (Exception e) {
+            log.warn("Could not ensure MongoDB indexes: {}", e.getMessage());
+        }
+    }
+}
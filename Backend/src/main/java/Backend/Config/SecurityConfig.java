@@ -52,10 +52,16 @@ public class SecurityConfig {
                         .requestMatchers("/oauth2/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/challenges/**").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/recipes/import").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/recipes/export", "/api/tips/export").authenticated()
+                        .requestMatchers(HttpMethod.PUT, "/recipes/*/rate").authenticated()
+                        .requestMatchers(HttpMethod.PATCH, "/recipes/*").authenticated()
+                        .requestMatchers("/recipes/*/comment/*/helpful").authenticated()
                         .requestMatchers("/recipes/**").permitAll() // <-- FIXED
                         .requestMatchers("/api/recipes**").permitAll()
                         .requestMatchers("/api/tips/**").permitAll()
                         .requestMatchers("/uploads/**").permitAll()
+                        .requestMatchers("/images/**").permitAll()
                         .anyRequest().authenticated())
                 .oauth2Login(t -> t.loginPage("/oauth2/authorization/google")
                         .successHandler(oAuth2AuthenticationSuccessHandler())
@@ -104,8 +110,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("http://localhost:5173"));
         configuration.setAllowedMethods(List.of("HEAD", "GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowCredentials(true);
-        configuration.setAllowedHeaders(List.of("Authorization", "Cache-Control", "Content-Type"));
-        configuration.setExposedHeaders(List.of("Authorization", "Cache-Control", "Content-Type"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Cache-Control", "Content-Type", "If-Match", "If-None-Match"));
+        configuration.setExposedHeaders(List.of("Authorization", "Cache-Control", "Content-Type", "ETag"));
         configuration.setMaxAge(3600L);
         final UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -3,7 +3,10 @@ package Backend.Controller;
 import Backend.Model.ChallengeModel;
 import Backend.Repository.ChallengeRepository;
 import Backend.DTO.ChallengeRequest;
+import Backend.service.ImageStorageService;
+import Backend.service.NdjsonExportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -13,10 +16,6 @@ import org.springframework.http.ResponseEntity;
 import java.security.Principal;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
@@ -28,7 +27,12 @@ public class ChallengeController {
     @Autowired
     private ChallengeRepository challengeRepository;
 
-    private final String UPLOAD_DIR = "src/main/uploads/challenges/";
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private NdjsonExportService ndjsonExportService;
+
     private final SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm");
 
     @GetMapping("/")
@@ -79,6 +83,24 @@ public class ChallengeController {
         return challenges;
     }
 
+    // Streams matching challenges as NDJSON, optionally gzipped
+    @GetMapping("/export")
+    public ResponseEntity<?> exportChallenges(
+            @RequestParam(required = false) String theme,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        try {
+            return ndjsonExportService.export("challenges", ChallengeModel.class, Arrays.asList(
+                    theme == null ? null : Criteria.where("theme").is(theme),
+                    userId == null ? null : Criteria.where("userId").is(userId)
+            ), NdjsonExportService.parseSince(since), gzip);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/active/all")
     public List<ChallengeModel> getAllActiveChallenges() {
         return challengeRepository.findByEndDateAfter(new Date());
@@ -121,16 +143,14 @@ public class ChallengeController {
 
         MultipartFile file = req.getFile();
         if (file != null && !file.isEmpty()) {
-            String fileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
-            Path uploadPath = Paths.get(UPLOAD_DIR);
-
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+            String key;
+            try {
+                key = imageStorageService.store(file);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
             }
-
-            Path filePath = uploadPath.resolve(fileName);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-            challenge.setImageUrl("/uploads/challenges/" + fileName);
+            imageStorageService.acquire(key);
+            challenge.setImageUrl(ImageStorageService.IMAGE_URL_PREFIX + key);
         }
 
         return ResponseEntity.ok(challengeRepository.save(challenge));
@@ -155,25 +175,10 @@ public class ChallengeController {
 
         MultipartFile file = req.getFile();
         if (file != null && !file.isEmpty()) {
-            // Delete old image if exists
-            if (challenge.getImageUrl() != null) {
-                String oldFileName = challenge.getImageUrl().replace("/uploads/challenges/", "");
-                Path oldImagePath = Paths.get(UPLOAD_DIR + oldFileName);
-                if (Files.exists(oldImagePath)) {
-                    Files.delete(oldImagePath);
-                }
-            }
-
-            String fileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
-            Path uploadPath = Paths.get(UPLOAD_DIR);
-
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            Path filePath = uploadPath.resolve(fileName);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-            challenge.setImageUrl("/uploads/challenges/" + fileName);
+            // Take the new image before dropping the old one; identical uploads keep the same key
+            String key = imageStorageService.store(file);
+            imageStorageService.replace(ImageStorageService.keyFromUrl(challenge.getImageUrl()), key);
+            challenge.setImageUrl(ImageStorageService.IMAGE_URL_PREFIX + key);
         }
 
         return challengeRepository.save(challenge);
@@ -185,18 +190,8 @@ public class ChallengeController {
         if (challenge == null) return "Challenge not found.";
         String userId = userDetails.getUsername();
         if (!challenge.getUserId().equals(userId)) return "Unauthorized";
-        if (challenge.getImageUrl() != null) {
-            try {
-                String fileName = challenge.getImageUrl().replace("/uploads/challenges/", "");
-                Path imagePath = Paths.get(UPLOAD_DIR + fileName);
-                if (Files.exists(imagePath)) {
-                    Files.delete(imagePath);
-                }
-            } catch (IOException e) {
-                System.err.println("Failed to delete image: " + e.getMessage());
-            }
-        }
         challengeRepository.deleteById(id);
+        imageStorageService.release(ImageStorageService.keyFromUrl(challenge.getImageUrl()));
         return "Challenge with ID " + id + " deleted.";
     }
 
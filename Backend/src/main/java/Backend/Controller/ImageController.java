@@ -0,0 +1,72 @@
+package Backend.Controller;
+
+import Backend.service.ImageServingService;
+import Backend.service.ImageStorageService;
+import Backend.service.ImageVariantService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Every image URL the app hands out is served here, through ImageServingService
+@RestController
+@CrossOrigin("http://localhost:5173")
+public class ImageController {
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private ImageServingService imageServingService;
+
+    // Content-addressed images; the key is derived from the bytes, so a URL never changes meaning.
+    // ?w= serves the closest ready downscaled variant, or the original until variants exist.
+    @GetMapping("/images/{key}")
+    public void getImage(@PathVariable String key, @RequestParam(required = false) Integer w,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!ImageStorageService.isContentKey(key)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        serve(key, w, request, response);
+    }
+
+    // Recipe mediaUrl values: content keys for new uploads, original file names for older ones
+    @GetMapping("/recipes/image/{filename}")
+    public void getRecipeImage(@PathVariable String filename, @RequestParam(required = false) Integer w,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(filename, w, request, response);
+    }
+
+    // Files stored before content addressing, e.g. /uploads/challenges/<timestamp>_<name>
+    @GetMapping("/uploads/**")
+    public void getUpload(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String key = request.getServletPath().substring("/uploads/".length());
+        serve(key, null, request, response);
+    }
+
+    private void serve(String key, Integer w, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path file = imageStorageService.resolve(key, w);
+        String cacheControl;
+        if (!ImageStorageService.isContentKey(key)) {
+            // Legacy names can be overwritten, so clients must revalidate
+            cacheControl = ImageServingService.REVALIDATE;
+        } else if (w != null && w > 0 && file != null && !file.equals(bestVariant(key, w))) {
+            // Asked for a width but got the original or a larger variant; the right one may appear later
+            cacheControl = ImageServingService.SHORT_LIVED;
+        } else {
+            cacheControl = ImageServingService.IMMUTABLE;
+        }
+        imageServingService.serve(file, cacheControl, request, response);
+    }
+
+    // The file a request for this width is meant to get once all variants exist
+    private Path bestVariant(String key, int w) {
+        Integer width = ImageVariantService.bestWidthFor(w);
+        return width == null ? null : ImageVariantService.variantPath(imageStorageService.resolve(key), width);
+    }
+}
@@ -1,20 +1,67 @@
 package Backend.Controller;
 
+import Backend.DTO.CursorPage;
+import Backend.DTO.FacetedRecipePage;
+import Backend.DTO.HelpfulVote;
+import Backend.DTO.ImportResult;
+import Backend.DTO.PantryMatch;
+import Backend.DTO.RatingSummary;
+import Backend.DTO.RecipeBatch;
+import Backend.DTO.RecipeSummary;
+import Backend.DTO.RecipeViewStats;
+import Backend.DTO.SimilarRecipe;
+import Backend.DTO.TitleSuggestion;
+import Backend.DTO.TrendingRecipe;
 import Backend.Exception.RecipeNotFoundException;
 import Backend.Model.CommentModel;
 import Backend.Model.RecipeModel;
+import Backend.Repository.CommentRepository;
+import Backend.Repository.RatingRepository;
 import Backend.Repository.RecipeRepository;
+import Backend.enums.RecipeSort;
+import Backend.search.Bm25Index;
+import Backend.search.TextAnalyzer;
+import Backend.service.ImageStorageService;
+import Backend.service.NdjsonExportService;
+import Backend.service.PantrySearchService;
+import Backend.service.RatingPriorService;
+import Backend.service.RecipeCacheService;
+import Backend.service.RecipeExistenceService;
+import Backend.service.RecipeFacetService;
+import Backend.service.RecipeImportService;
+import Backend.service.RecipePatchService;
+import Backend.service.RecipeSearchService;
+import Backend.service.RecipeViewService;
+import Backend.service.SimilarRecipeService;
+import Backend.service.TitleSuggestService;
+import Backend.service.TrendingService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.FileSystemResource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,28 +71,129 @@ public class RecipeController {
     @Autowired
     private RecipeRepository recipeRepository;
 
-    private final String UPLOAD_DIR = "src/main/uploads/";
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private RecipeSearchService recipeSearchService;
+
+    @Autowired
+    private PantrySearchService pantrySearchService;
+
+    @Autowired
+    private RecipeFacetService recipeFacetService;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private RecipeCacheService recipeCacheService;
+
+    @Autowired
+    private RecipeExistenceService recipeExistenceService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private RecipeImportService recipeImportService;
+
+    @Autowired
+    private NdjsonExportService ndjsonExportService;
+
+    @Autowired
+    private SimilarRecipeService similarRecipeService;
+
+    @Autowired
+    private TitleSuggestService titleSuggestService;
+
+    @Autowired
+    private RecipePatchService recipePatchService;
+
+    @Autowired
+    private RecipeViewService recipeViewService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RatingPriorService ratingPriorService;
+
+    @Value("${recipes.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${recipes.page.max-size:100}")
+    private int maxPageSize;
 
     @PostMapping("/recipes")
     public ResponseEntity<?> addRecipe(@RequestBody RecipeModel recipe) {
+        // The version is server-managed; a client-supplied one would turn the insert into a conditional update
+        recipe.setVersion(null);
+        // Only keys issued by the upload endpoint; a legacy file name here would be deleted with the recipe
+        String mediaUrl = recipe.getMediaUrl();
+        if (mediaUrl != null && !mediaUrl.isEmpty() && !ImageStorageService.isContentKey(mediaUrl)) {
+            return ResponseEntity.badRequest().body("mediaUrl must be an image key returned by the upload endpoint");
+        }
+        try {
+            imageStorageService.acquire(recipe.getMediaUrl());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
         try {
             RecipeModel saved = recipeRepository.save(recipe);
             return ResponseEntity.ok(saved);
         } catch (Exception e) {
+            imageStorageService.release(recipe.getMediaUrl());
             return ResponseEntity.status(500).body("Error saving recipe: " + e.getMessage());
         }
     }
 
+    // Bulk import: one recipe JSON object per line (NDJSON); bad lines are reported, the rest are inserted
+    @PostMapping(value = "/recipes/import", consumes = {"application/x-ndjson", "application/json", "text/plain"})
+    public ResponseEntity<?> importRecipes(InputStream body) {
+        try {
+            ImportResult result = recipeImportService.importNdjson(body);
+            return ResponseEntity.ok(result);
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body("Error reading import: " + e.getMessage());
+        }
+    }
+
+    // Streams every matching recipe as NDJSON (the import format), optionally gzipped
+    @GetMapping("/recipes/export")
+    public ResponseEntity<?> exportRecipes(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(required = false) Integer minTime,
+            @RequestParam(required = false) Integer maxTime,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        try {
+            String categoryKey = TextAnalyzer.normalizeKey(category);
+            String cuisineKey = TextAnalyzer.normalizeKey(cuisine);
+            return ndjsonExportService.export("recipes", RecipeModel.class, Arrays.asList(
+                    categoryKey == null ? null : Criteria.where("categoryKey").is(categoryKey),
+                    cuisineKey == null ? null : Criteria.where("cuisineKey").is(cuisineKey),
+                    timeRange(minTime, maxTime)
+            ), NdjsonExportService.parseSince(since), gzip);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Returns the image's content key, which the client stores as the recipe's mediaUrl
     @PostMapping("/recipes/image")
-    public String uploadImage(@RequestParam("file") MultipartFile file) {
-        String fileName = file.getOriginalFilename();
+    public ResponseEntity<?> uploadImage(@RequestParam("file") MultipartFile file) {
         try {
-            File uploadDir = new File(UPLOAD_DIR);
-            if (!uploadDir.exists()) uploadDir.mkdirs();
-            file.transferTo(Paths.get(UPLOAD_DIR + fileName));
-            return fileName;
+            return ResponseEntity.ok(imageStorageService.store(file));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (IOException e) {
-            throw new RuntimeException("Image upload failed");
+            throw new RuntimeException("Image upload failed", e);
         }
     }
 
@@ -54,42 +202,282 @@ public class RecipeController {
         return recipeRepository.findAll();
     }
 
+    // Lightweight, keyset-paginated listing for recipe cards
+    @GetMapping("/recipes/page")
+    public ResponseEntity<?> getRecipePage(
+            @RequestParam(required = false) Integer minTime,
+            @RequestParam(required = false) Integer maxTime,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        try {
+            CursorPage<RecipeSummary> page = recipeRepository.findSummaryPage(
+                    timeRange(minTime, maxTime), RecipeSort.fromParam(sort), cursor, pageSize(size));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Ranked full-text search over title, ingredients, description and instructions
+    @GetMapping("/recipes/search")
+    public List<RecipeSummary> searchRecipes(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer size
+    ) {
+        List<String> ids = recipeSearchService.search(query, pageSize(size)).stream()
+                .map(Bm25Index.Hit::getId)
+                .collect(Collectors.toList());
+        return recipeRepository.findSummariesByIds(ids);
+    }
+
+    // Title typeahead, answered entirely from the in-memory prefix index
+    @GetMapping("/recipes/suggest")
+    public List<TitleSuggestion> suggestTitles(
+            @RequestParam("q") String prefix,
+            @RequestParam(required = false) Integer size
+    ) {
+        int limit = size == null ? TitleSuggestService.MAX_SUGGESTIONS : Math.max(1, size);
+        return titleSuggestService.suggest(prefix, limit).stream()
+                .map(entry -> new TitleSuggestion(entry.getId(), entry.getTitle()))
+                .collect(Collectors.toList());
+    }
+
+    // "What can I cook": recipes ranked by how few ingredients are missing from the given pantry
+    @GetMapping("/recipes/pantry")
+    public List<PantryMatch> searchByPantry(
+            @RequestParam List<String> ingredients,
+            @RequestParam(defaultValue = "3") int maxMissing,
+            @RequestParam(required = false) Integer size
+    ) {
+        List<PantrySearchService.Match> matches = pantrySearchService.match(ingredients, maxMissing, pageSize(size));
+        Map<String, RecipeSummary> summaries = new HashMap<>();
+        for (RecipeSummary summary : recipeRepository.findSummariesByIds(
+                matches.stream().map(PantrySearchService.Match::getRecipeId).collect(Collectors.toList()))) {
+            summaries.put(summary.getId(), summary);
+        }
+
+        List<PantryMatch> result = new ArrayList<>();
+        for (PantrySearchService.Match m : matches) {
+            RecipeSummary summary = summaries.get(m.getRecipeId());
+            if (summary != null) {
+                result.add(new PantryMatch(summary, m.getMatchedCount(), m.getMissingCount(), m.getMissingIngredients()));
+            }
+        }
+        return result;
+    }
+
+    // Faceted browsing: multi-select filters on normalized category, cuisine and cooking-time bucket
+    @GetMapping("/recipes/browse")
+    public ResponseEntity<?> browseRecipes(
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> cuisine,
+            @RequestParam(required = false) List<String> time,
+            @RequestParam(required = false) Integer minTime,
+            @RequestParam(required = false) Integer maxTime,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        Map<RecipeFacetService.Facet, List<String>> selected = new EnumMap<>(RecipeFacetService.Facet.class);
+        selected.put(RecipeFacetService.Facet.CATEGORY, normalizeKeys(category));
+        selected.put(RecipeFacetService.Facet.CUISINE, normalizeKeys(cuisine));
+        selected.put(RecipeFacetService.Facet.TIME, time);
+
+        List<Criteria> filters = new ArrayList<>();
+        for (Map.Entry<RecipeFacetService.Facet, List<String>> e : selected.entrySet()) {
+            if (e.getValue() != null && !e.getValue().isEmpty()) {
+                filters.add(Criteria.where(e.getKey().getField()).in(e.getValue()));
+            }
+        }
+
+        try {
+            Criteria range = timeRange(minTime, maxTime);
+            if (range != null) {
+                filters.add(range);
+            }
+            Criteria filter = filters.isEmpty() ? null : new Criteria().andOperator(filters);
+            CursorPage<RecipeSummary> page = recipeRepository.findSummaryPage(
+                    filter, RecipeSort.fromParam(sort), cursor, pageSize(size));
+            return ResponseEntity.ok(new FacetedRecipePage(page, recipeFacetService.facetCounts(selected)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Best-rated recipes by Bayesian score, optionally within one category; a range read on (categoryKey, bayesianScore)
+    @GetMapping("/recipes/top")
+    public ResponseEntity<?> getTopRated(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        String key = TextAnalyzer.normalizeKey(category);
+        Criteria filter = key == null ? null : Criteria.where("categoryKey").is(key);
+        try {
+            return ResponseEntity.ok(recipeRepository.findSummaryPage(filter, RecipeSort.TOP_RATED, cursor, pageSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Recipes with the most time-decayed engagement right now; served from memory, no collection scan
+    @GetMapping("/recipes/trending")
+    public List<TrendingRecipe> getTrending(@RequestParam(required = false) Integer size) {
+        List<TrendingService.Hit> hits = trendingService.top(pageSize(size));
+        Map<String, RecipeSummary> summaries = new HashMap<>();
+        for (RecipeSummary summary : recipeRepository.findSummariesByIds(
+                hits.stream().map(TrendingService.Hit::getRecipeId).collect(Collectors.toList()))) {
+            summaries.put(summary.getId(), summary);
+        }
+
+        List<TrendingRecipe> result = new ArrayList<>();
+        for (TrendingService.Hit hit : hits) {
+            RecipeSummary summary = summaries.get(hit.getRecipeId());
+            if (summary != null) {
+                result.add(new TrendingRecipe(summary, hit.getScore()));
+            }
+        }
+        return result;
+    }
+
+    // Multi-get in one round trip: ids=a,b,c returns the recipes in that order plus the ids that do not exist.
+    // view=summary returns card-sized summaries instead of full recipes.
+    @GetMapping("/recipes/batch")
+    public ResponseEntity<?> getRecipesByIds(
+            @RequestParam List<String> ids,
+            @RequestParam(required = false) String view
+    ) {
+        List<String> requested = ids.stream().filter(id -> id != null && !id.isBlank()).map(String::trim).distinct()
+                .collect(Collectors.toList());
+        if (requested.size() > maxPageSize) {
+            return ResponseEntity.badRequest().body("At most " + maxPageSize + " ids can be requested at once");
+        }
+        boolean summary = "summary".equalsIgnoreCase(view);
+        if (!summary && view != null && !view.isEmpty() && !"full".equalsIgnoreCase(view)) {
+            return ResponseEntity.badRequest().body("Unknown view: " + view);
+        }
+
+        Map<String, ?> found;
+        if (summary) {
+            // Cached recipes are summarized in place; only the rest are read, with the summary projection
+            Map<String, RecipeSummary> summaries = new HashMap<>();
+            List<String> uncached = new ArrayList<>();
+            for (String id : requested) {
+                RecipeModel cached = recipeCacheService.getIfPresent(id);
+                if (cached != null) {
+                    summaries.put(id, RecipeSummary.of(cached));
+                } else if (!recipeExistenceService.isKnownMissing(id)) {
+                    uncached.add(id);
+                }
+            }
+            for (RecipeSummary s : recipeRepository.findSummariesByIds(uncached)) {
+                summaries.put(s.getId(), s);
+            }
+            found = summaries;
+        } else {
+            found = recipeCacheService.getAll(requested);
+        }
+
+        List<Object> items = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : requested) {
+            Object item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missing.add(id);
+            }
+        }
+        return ResponseEntity.ok(new RecipeBatch<>(items, missing));
+    }
+
     @GetMapping("/recipes/{id}")
-    public RecipeModel getRecipeById(@PathVariable String id) {
-        return recipeRepository.findById(id)
-                .orElseThrow(() -> new RecipeNotFoundException(id));
+    public ResponseEntity<RecipeModel> getRecipeById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletRequest request
+    ) {
+        RecipeModel recipe = recipeCacheService.get(id);
+        if (recipe == null) {
+            throw new RecipeNotFoundException(id);
+        }
+        trendingService.record(id, TrendingService.Signal.VIEW);
+        // Signed-in users are counted once each; anonymous viewers by address
+        recipeViewService.record(id, userDetails != null ? "user:" + userDetails.getUsername() : "addr:" + request.getRemoteAddr());
+        String etag = recipeETag(recipe);
+        // no-cache rather than Spring Security's default no-store, so clients keep a copy and revalidate it
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(recipe);
     }
 
-    @GetMapping("/recipes/category/{category}")
-    public List<RecipeModel> getByCategory(@PathVariable String category) {
-        return recipeRepository.findByCategoryContainingIgnoreCase(category);
+    // Approximate view and distinct-viewer totals, including views not yet flushed to the database
+    @GetMapping("/recipes/{id}/views")
+    public RecipeViewStats getRecipeViews(@PathVariable String id) {
+        if (recipeCacheService.get(id) == null) {
+            throw new RecipeNotFoundException(id);
+        }
+        return recipeViewService.stats(id);
     }
 
-    @GetMapping("/recipes/image/{filename}")
-    public ResponseEntity<FileSystemResource> getImage(@PathVariable String filename) {
-        File file = new File(UPLOAD_DIR + filename);
-        if (!file.exists()) {
-            return ResponseEntity.notFound().build();
+    // "More like this": recipes whose ingredients overlap most, found through the in-memory MinHash index
+    @GetMapping("/recipes/{id}/similar")
+    public List<SimilarRecipe> getSimilarRecipes(@PathVariable String id, @RequestParam(required = false) Integer size) {
+        if (!similarRecipeService.contains(id) && recipeCacheService.get(id) == null) {
+            throw new RecipeNotFoundException(id);
+        }
+        List<SimilarRecipeService.Hit> hits = similarRecipeService.similar(id, pageSize(size));
+        Map<String, RecipeSummary> summaries = new HashMap<>();
+        for (RecipeSummary summary : recipeRepository.findSummariesByIds(
+                hits.stream().map(SimilarRecipeService.Hit::getRecipeId).collect(Collectors.toList()))) {
+            summaries.put(summary.getId(), summary);
+        }
+
+        List<SimilarRecipe> result = new ArrayList<>();
+        for (SimilarRecipeService.Hit hit : hits) {
+            RecipeSummary summary = summaries.get(hit.getRecipeId());
+            if (summary != null) {
+                result.add(new SimilarRecipe(summary, hit.getSimilarity()));
+            }
         }
-        return ResponseEntity.ok(new FileSystemResource(file));
+        return result;
+    }
+
+    @GetMapping("/recipes/category/{category}")
+    public List<RecipeModel> getByCategory(@PathVariable String category) {
+        return recipeRepository.findByCategoryContainingIgnoreCase(category);
     }
 
     @PutMapping("/recipes/update/{id}")
-    public RecipeModel updateRecipe(
+    public ResponseEntity<?> updateRecipe(
             @RequestPart("recipeDetails") String recipeDetails,
             @RequestPart(value = "file", required = false) MultipartFile file,
-            @PathVariable String id
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        ObjectMapper mapper = new ObjectMapper();
+        if (ifMatch == null || ifMatch.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body("If-Match header is required");
+        }
         RecipeModel updatedRecipe;
         try {
-            updatedRecipe = mapper.readValue(recipeDetails, RecipeModel.class);
+            updatedRecipe = objectMapper.readValue(recipeDetails, RecipeModel.class);
         } catch (IOException e) {
             throw new RuntimeException("Error parsing recipeDetails", e);
         }
 
         RecipeModel existing = recipeRepository.findById(id)
                 .orElseThrow(() -> new RecipeNotFoundException(id));
+        if (existing.getVersion() == null) {
+            recipeRepository.initVersion(id);
+            existing.setVersion(0L);
+        }
+        if (!etagMatches(ifMatch, recipeETag(existing))) {
+            return versionConflict(existing);
+        }
 
         existing.setTitle(updatedRecipe.getTitle());
         existing.setIngredients(updatedRecipe.getIngredients());
@@ -99,17 +487,60 @@ public class RecipeController {
         existing.setCuisineType(updatedRecipe.getCuisineType());
         existing.setDescription(updatedRecipe.getDescription());
 
+        String previousImage = existing.getMediaUrl();
         if (file != null && !file.isEmpty()) {
-            String fileName = file.getOriginalFilename();
             try {
-                file.transferTo(Paths.get(UPLOAD_DIR + fileName));
-                existing.setMediaUrl(fileName);
+                existing.setMediaUrl(imageStorageService.store(file));
             } catch (IOException e) {
                 throw new RuntimeException("Image saving failed", e);
             }
         }
 
-        return recipeRepository.save(existing);
+        RecipeModel saved;
+        try {
+            // save() matches on the version it read, so a concurrent write in between fails here instead of being lost
+            saved = recipeRepository.save(existing);
+            recipeCacheService.invalidate(id);
+        } catch (OptimisticLockingFailureException e) {
+            return recipeRepository.findById(id)
+                    .map(this::versionConflict)
+                    .orElseThrow(() -> new RecipeNotFoundException(id));
+        }
+        if (!Objects.equals(previousImage, saved.getMediaUrl())) {
+            imageStorageService.replace(previousImage, saved.getMediaUrl());
+        }
+        return ResponseEntity.ok().eTag(recipeETag(saved)).body(saved);
+    }
+
+    // JSON Merge Patch: only the fields present in the body are written, and only the ones that changed come back
+    @PatchMapping(value = "/recipes/{id}", consumes = {"application/merge-patch+json", "application/json"})
+    public ResponseEntity<?> patchRecipe(
+            @PathVariable String id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        if (ifMatch == null || ifMatch.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body("If-Match header is required");
+        }
+        Long expectedVersion = etagVersion(ifMatch);
+        if (expectedVersion == null) {
+            return ResponseEntity.badRequest().body("If-Match must be the ETag returned by GET /recipes/{id}");
+        }
+        try {
+            RecipePatchService.Patched patched = recipePatchService.apply(id, expectedVersion, patch);
+            return ResponseEntity.ok().eTag("\"" + patched.getVersion() + "\"").body(patched.getChanged());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return recipeRepository.findById(id)
+                    .map(this::versionConflict)
+                    .orElseThrow(() -> new RecipeNotFoundException(id));
+        }
+    }
+
+    private ResponseEntity<String> versionConflict(RecipeModel current) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(recipeETag(current))
+                .body("Recipe was modified by someone else; reload it and try again");
     }
 
     @DeleteMapping("/recipes/{id}")
@@ -117,75 +548,137 @@ public class RecipeController {
         RecipeModel recipe = recipeRepository.findById(id)
                 .orElseThrow(() -> new RecipeNotFoundException(id));
 
-        String fileName = recipe.getMediaUrl();
-        if (fileName != null && !fileName.isEmpty()) {
-            File imageFile = new File(UPLOAD_DIR + fileName);
-            if (imageFile.exists()) {
-                imageFile.delete();
-            }
-        }
-
         recipeRepository.deleteById(id);
+        recipeCacheService.invalidate(id);
+        commentRepository.deleteByRecipeId(id);
+        ratingRepository.deleteByRecipeId(id);
+        recipeViewService.delete(id);
+        imageStorageService.release(recipe.getMediaUrl());
         return "Recipe with ID " + id + " and image deleted.";
     }
 
     @PutMapping("/recipes/{id}/rate")
-    public RecipeModel rateRecipe(@PathVariable String id, @RequestParam double rating) {
-        RecipeModel recipe = recipeRepository.findById(id)
-                .orElseThrow(() -> new RecipeNotFoundException(id));
+    public ResponseEntity<?> rateRecipe(
+            @PathVariable String id,
+            @RequestParam int rating,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        // One rating per signed-in user; a client-chosen id would let anyone rate again under a new one
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Sign in to rate");
+        }
+        if (rating < 1 || rating > 5) {
+            return ResponseEntity.badRequest().body("Rating must be between 1 and 5");
+        }
+        String raterId = userDetails.getUsername();
+        if (recipeCacheService.get(id) == null) {
+            throw new RecipeNotFoundException(id);
+        }
 
-        double total = recipe.getAverageRating() * recipe.getRatingCount();
-        int newCount = recipe.getRatingCount() + 1;
-        double newAverage = (total + rating) / newCount;
+        int previous = ratingRepository.upsertRating(id, raterId, rating);
+        RecipeModel updated;
+        if (previous == rating) {
+            updated = recipeCacheService.get(id);
+        } else {
+            updated = recipeRepository.applyRating(id, previous, rating, ratingPriorService.current());
+            recipeCacheService.invalidate(id);
+            trendingService.record(id, TrendingService.Signal.RATING);
+        }
+        if (updated == null) {
+            throw new RecipeNotFoundException(id);
+        }
+
+        return ResponseEntity.ok(new RatingSummary(id, updated.getAverageRating(), updated.getRatingCount(),
+                updated.getRatingHistogram(), rating));
+    }
 
-        recipe.setRatingCount(newCount);
-        recipe.setAverageRating(newAverage);
-        return recipeRepository.save(recipe);
+    // sort=helpful lists the most helpful comments first; the default is newest first
+    @GetMapping("/recipes/{id}/comments")
+    public ResponseEntity<?> getComments(
+            @PathVariable String id,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        try {
+            if ("helpful".equalsIgnoreCase(sort)) {
+                return ResponseEntity.ok(commentRepository.findHelpfulPageByRecipeId(id, cursor, pageSize(size)));
+            }
+            if (sort != null && !sort.isEmpty() && !"newest".equalsIgnoreCase(sort)) {
+                return ResponseEntity.badRequest().body("Unknown sort: " + sort);
+            }
+            return ResponseEntity.ok(commentRepository.findPageByRecipeId(id, cursor, pageSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PostMapping("/recipes/{id}/comment")
-    public RecipeModel addComment(@PathVariable String id, @RequestBody CommentModel comment) {
-        RecipeModel recipe = recipeRepository.findById(id)
-                .orElseThrow(() -> new RecipeNotFoundException(id));
+    public CommentModel addComment(@PathVariable String id, @RequestBody CommentModel comment) {
+        // Ids are always server-assigned so a client cannot overwrite someone else's comment
+        comment.setId(UUID.randomUUID().toString());
+        comment.setCreatedAt(new Date());
 
         // Ensure rating is included and properly set
         if (comment.getRating() == null) {
             comment.setRating(0.0);
         }
 
-        // Set default helpful count if not provided
-        if (comment.getHelpful() == null) {
-            comment.setHelpful(0);
-        }
+        // Helpful votes are counted by the vote endpoint only
+        comment.setHelpful(0);
 
-        recipe.getComments().add(0, comment);
-        return recipeRepository.save(recipe);
+        CommentModel saved = recipeRepository.pushComment(id, comment);
+        if (saved == null) {
+            throw new RecipeNotFoundException(id);
+        }
+        // commentCount changed
+        recipeCacheService.invalidate(id);
+        trendingService.record(id, TrendingService.Signal.COMMENT);
+        return saved;
     }
 
     @PutMapping("/recipes/{recipeId}/comment/{commentId}")
-    public RecipeModel updateComment(
+    public ResponseEntity<?> updateComment(
             @PathVariable String recipeId,
             @PathVariable String commentId,
             @RequestBody CommentModel updatedComment
     ) {
-        RecipeModel recipe = recipeRepository.findById(recipeId)
-                .orElseThrow(() -> new RecipeNotFoundException(recipeId));
+        CommentModel updated = recipeRepository.setComment(recipeId, commentId, updatedComment);
+        if (updated == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(updated);
+    }
 
-        recipe.getComments().stream()
-                .filter(c -> c.getId().equals(commentId))
-                .findFirst()
-                .ifPresent(c -> {
-                    c.setText(updatedComment.getText());
-                    c.setTime(updatedComment.getTime());
-                    c.setAvatar(updatedComment.getAvatar());
-                    c.setUser(updatedComment.getUser());
-                    // Ensure rating is updated
-                    c.setRating(updatedComment.getRating() != null ? updatedComment.getRating() : c.getRating());
-                    // Ensure helpful count is updated
-                    c.setHelpful(updatedComment.getHelpful() != null ? updatedComment.getHelpful() : c.getHelpful());
-                });
+    // Marks a comment helpful (PUT) or withdraws the mark (DELETE), at most once per user
+    @PutMapping("/recipes/{recipeId}/comment/{commentId}/helpful")
+    public ResponseEntity<?> markHelpful(
+            @PathVariable String recipeId,
+            @PathVariable String commentId,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return helpfulVote(recipeId, commentId, userDetails, true);
+    }
+
+    @DeleteMapping("/recipes/{recipeId}/comment/{commentId}/helpful")
+    public ResponseEntity<?> unmarkHelpful(
+            @PathVariable String recipeId,
+            @PathVariable String commentId,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return helpfulVote(recipeId, commentId, userDetails, false);
+    }
 
-        return recipeRepository.save(recipe);
+    // Votes count once per signed-in user; a client-chosen id would let anyone vote again under a new one
+    private ResponseEntity<?> helpfulVote(String recipeId, String commentId, UserDetails userDetails, boolean helpful) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Sign in to vote");
+        }
+        HelpfulVote vote = commentRepository.voteHelpful(recipeId, commentId, userDetails.getUsername(), helpful);
+        if (vote == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(vote);
     }
 
     @DeleteMapping("/recipes/{recipeId}/comment/{commentId}")
@@ -194,18 +687,62 @@ public class RecipeController {
             @PathVariable String commentId
     ) {
         try {
-            RecipeModel recipe = recipeRepository.findById(recipeId)
-                    .orElseThrow(() -> new RecipeNotFoundException(recipeId));
-
-            List<CommentModel> updatedComments = recipe.getComments().stream()
-                    .filter(c -> !c.getId().equals(commentId))
-                    .collect(Collectors.toList());
-
-            recipe.setComments(updatedComments);
-            recipeRepository.save(recipe);
-            return ResponseEntity.ok().build();
+            CommentModel removed = recipeRepository.pullComment(recipeId, commentId);
+            if (removed == null) {
+                return ResponseEntity.notFound().build();
+            }
+            recipeCacheService.invalidate(recipeId);
+            return ResponseEntity.ok(removed);
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Failed to delete comment: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private static List<String> normalizeKeys(List<String> labels) {
+        if (labels == null) return null;
+        return labels.stream().map(TextAnalyzer::normalizeKey).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    // Inclusive cooking-time range in minutes on the normalized field; either bound may be omitted
+    private static Criteria timeRange(Integer minTime, Integer maxTime) {
+        if (minTime == null && maxTime == null) return null;
+        if (minTime != null && maxTime != null && minTime > maxTime) {
+            throw new IllegalArgumentException("minTime must not be greater than maxTime");
+        }
+        Criteria range = Criteria.where("cookingTimeMinutes");
+        if (minTime != null) range = range.gte(minTime);
+        if (maxTime != null) range = range.lte(maxTime);
+        return range;
+    }
+
+    private static String recipeETag(RecipeModel recipe) {
+        return "\"" + (recipe.getVersion() == null ? 0 : recipe.getVersion()) + "\"";
+    }
+
+    // True if the header lists the tag or is "*"
+    private static boolean etagMatches(String header, String etag) {
+        if (header == null) return false;
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    // Version number inside a strong or weak recipe ETag, or null if the header is not one of ours
+    private static Long etagVersion(String header) {
+        String tag = header.trim();
+        if (tag.startsWith("W/")) tag = tag.substring(2);
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) return null;
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) return defaultPageSize;
+        return Math.min(requested, maxPageSize);
+    }
+}
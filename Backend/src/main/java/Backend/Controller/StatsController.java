@@ -0,0 +1,33 @@
+package Backend.Controller;
+
+import Backend.DTO.CacheStats;
+import Backend.DTO.UploadGcReport;
+import Backend.service.RecipeCacheService;
+import Backend.service.UploadJanitorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Operational counters for in-process caches and background jobs; requires an authenticated user
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    @Autowired
+    private RecipeCacheService recipeCacheService;
+
+    @Autowired
+    private UploadJanitorService uploadJanitorService;
+
+    @GetMapping("/recipe-cache")
+    public CacheStats recipeCache() {
+        return recipeCacheService.stats();
+    }
+
+    // Result of the most recent orphaned-upload collection; 204 until the first run finishes
+    @GetMapping("/upload-gc")
+    public ResponseEntity<UploadGcReport> uploadGc() {
+        UploadGcReport report = uploadJanitorService.lastReport();
+        return report == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(report);
+    }
+}
@@ -4,12 +4,15 @@ import Backend.Model.TipModel;
 import Backend.Repository.TipRepository;
 import Backend.Repository.UserRepository;
 import Backend.Model.User;
+import Backend.service.NdjsonExportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
@@ -26,6 +29,9 @@ public class TipController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NdjsonExportService ndjsonExportService;
+
     @PostMapping
     public TipModel addTip(@RequestBody TipModel tip, @AuthenticationPrincipal UserDetails userDetails) {
         tip.setUserId(userDetails.getUsername());
@@ -43,6 +49,26 @@ public class TipController {
         return tipRepo.findAll();
     }
 
+    // Streams matching tips as NDJSON, optionally gzipped
+    @GetMapping("/export")
+    public ResponseEntity<?> exportTips(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) Boolean featured,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        try {
+            return ndjsonExportService.export("tips", TipModel.class, Arrays.asList(
+                    category == null ? null : Criteria.where("category").is(category),
+                    userId == null ? null : Criteria.where("userId").is(userId),
+                    featured == null ? null : Criteria.where("featured").is(featured)
+            ), NdjsonExportService.parseSince(since), gzip);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/my")
     public List<TipModel> getMyTips(@AuthenticationPrincipal UserDetails userDetails) {
         return tipRepo.findByUserId(userDetails.getUsername());
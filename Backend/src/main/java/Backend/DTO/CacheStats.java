@@ -0,0 +1,51 @@
+package Backend.DTO;
+
+public class CacheStats {
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long loadSuccessCount;
+    private long loadFailureCount;
+    private double averageLoadMillis;
+    private long evictionCount;
+
+    public CacheStats() {}
+
+    public CacheStats(long size, long hitCount, long missCount, double hitRate, long loadSuccessCount,
+                      long loadFailureCount, double averageLoadMillis, long evictionCount) {
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitRate;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.averageLoadMillis = averageLoadMillis;
+        this.evictionCount = evictionCount;
+    }
+
+    // Getters and Setters
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+
+    public long getHitCount() { return hitCount; }
+    public void setHitCount(long hitCount) { this.hitCount = hitCount; }
+
+    public long getMissCount() { return missCount; }
+    public void setMissCount(long missCount) { this.missCount = missCount; }
+
+    public double getHitRate() { return hitRate; }
+    public void setHitRate(double hitRate) { this.hitRate = hitRate; }
+
+    public long getLoadSuccessCount() { return loadSuccessCount; }
+    public void setLoadSuccessCount(long loadSuccessCount) { this.loadSuccessCount = loadSuccessCount; }
+
+    public long getLoadFailureCount() { return loadFailureCount; }
+    public void setLoadFailureCount(long loadFailureCount) { this.loadFailureCount = loadFailureCount; }
+
+    public double getAverageLoadMillis() { return averageLoadMillis; }
+    public void setAverageLoadMillis(double averageLoadMillis) { this.averageLoadMillis = averageLoadMillis; }
+
+    public long getEvictionCount() { return evictionCount; }
+    public void setEvictionCount(long evictionCount) { this.evictionCount = evictionCount; }
+}
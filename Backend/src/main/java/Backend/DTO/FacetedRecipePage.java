@@ -0,0 +1,29 @@
+package Backend.DTO;
+
+import java.util.List;
+import java.util.Map;
+
+// A browse page plus, for each facet, how many recipes each value would match given the other selected facets
+public class FacetedRecipePage {
+    private List<RecipeSummary> items;
+    private String nextCursor;
+    private Map<String, List<FacetCount>> facets;
+
+    public FacetedRecipePage() {}
+
+    public FacetedRecipePage(CursorPage<RecipeSummary> page, Map<String, List<FacetCount>> facets) {
+        this.items = page.getItems();
+        this.nextCursor = page.getNextCursor();
+        this.facets = facets;
+    }
+
+    // Getters and Setters
+    public List<RecipeSummary> getItems() { return items; }
+    public void setItems(List<RecipeSummary> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public Map<String, List<FacetCount>> getFacets() { return facets; }
+    public void setFacets(Map<String, List<FacetCount>> facets) { this.facets = facets; }
+}
@@ -0,0 +1,26 @@
+package Backend.DTO;
+
+// A comment's helpful count after a vote, and whether this request changed it
+public class HelpfulVote {
+    private String commentId;
+    private int helpful;
+    private boolean changed;
+
+    public HelpfulVote() {}
+
+    public HelpfulVote(String commentId, int helpful, boolean changed) {
+        this.commentId = commentId;
+        this.helpful = helpful;
+        this.changed = changed;
+    }
+
+    // Getters and Setters
+    public String getCommentId() { return commentId; }
+    public void setCommentId(String commentId) { this.commentId = commentId; }
+
+    public int getHelpful() { return helpful; }
+    public void setHelpful(int helpful) { this.helpful = helpful; }
+
+    public boolean isChanged() { return changed; }
+    public void setChanged(boolean changed) { this.changed = changed; }
+}
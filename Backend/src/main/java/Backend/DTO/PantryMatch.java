@@ -0,0 +1,33 @@
+package Backend.DTO;
+
+import java.util.List;
+
+// A recipe ranked for a pantry query: what it needs that the pantry does not have
+public class PantryMatch {
+    private RecipeSummary recipe;
+    private int matchedCount;
+    private int missingCount;
+    private List<String> missingIngredients;
+
+    public PantryMatch() {}
+
+    public PantryMatch(RecipeSummary recipe, int matchedCount, int missingCount, List<String> missingIngredients) {
+        this.recipe = recipe;
+        this.matchedCount = matchedCount;
+        this.missingCount = missingCount;
+        this.missingIngredients = missingIngredients;
+    }
+
+    // Getters and Setters
+    public RecipeSummary getRecipe() { return recipe; }
+    public void setRecipe(RecipeSummary recipe) { this.recipe = recipe; }
+
+    public int getMatchedCount() { return matchedCount; }
+    public void setMatchedCount(int matchedCount) { this.matchedCount = matchedCount; }
+
+    public int getMissingCount() { return missingCount; }
+    public void setMissingCount(int missingCount) { this.missingCount = missingCount; }
+
+    public List<String> getMissingIngredients() { return missingIngredients; }
+    public void setMissingIngredients(List<String> missingIngredients) { this.missingIngredients = missingIngredients; }
+}
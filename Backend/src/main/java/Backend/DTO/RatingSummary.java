@@ -0,0 +1,38 @@
+package Backend.DTO;
+
+import java.util.Map;
+
+public class RatingSummary {
+    private String recipeId;
+    private double averageRating;
+    private int ratingCount;
+    private Map<String, Integer> ratingHistogram;
+    private int userRating;
+
+    public RatingSummary() {}
+
+    public RatingSummary(String recipeId, double averageRating, int ratingCount,
+                         Map<String, Integer> ratingHistogram, int userRating) {
+        this.recipeId = recipeId;
+        this.averageRating = averageRating;
+        this.ratingCount = ratingCount;
+        this.ratingHistogram = ratingHistogram;
+        this.userRating = userRating;
+    }
+
+    // Getters and Setters
+    public String getRecipeId() { return recipeId; }
+    public void setRecipeId(String recipeId) { this.recipeId = recipeId; }
+
+    public double getAverageRating() { return averageRating; }
+    public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
+
+    public int getRatingCount() { return ratingCount; }
+    public void setRatingCount(int ratingCount) { this.ratingCount = ratingCount; }
+
+    public Map<String, Integer> getRatingHistogram() { return ratingHistogram; }
+    public void setRatingHistogram(Map<String, Integer> ratingHistogram) { this.ratingHistogram = ratingHistogram; }
+
+    public int getUserRating() { return userRating; }
+    public void setUserRating(int userRating) { this.userRating = userRating; }
+}
@@ -0,0 +1,23 @@
+package Backend.DTO;
+
+import java.util.List;
+
+// Result of a multi-get: found recipes in request order, and the requested ids that do not exist
+public class RecipeBatch<T> {
+    private List<T> items;
+    private List<String> missing;
+
+    public RecipeBatch() {}
+
+    public RecipeBatch(List<T> items, List<String> missing) {
+        this.items = items;
+        this.missing = missing;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public List<String> getMissing() { return missing; }
+    public void setMissing(List<String> missing) { this.missing = missing; }
+}
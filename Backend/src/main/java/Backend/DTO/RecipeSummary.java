@@ -0,0 +1,64 @@
+package Backend.DTO;
+
+import Backend.Model.RecipeModel;
+
+// Card-sized view of a recipe; never carries ingredients, instructions or comments
+public class RecipeSummary {
+    private String id;
+    private String title;
+    private String category;
+    private String cuisineType;
+    private String mediaUrl;
+    private Integer cookingTimeMinutes;
+    private double averageRating;
+    private int ratingCount;
+    private Double bayesianScore;
+    private int commentCount;
+
+    // Same fields as the summary projection, taken from an already loaded recipe
+    public static RecipeSummary of(RecipeModel recipe) {
+        RecipeSummary summary = new RecipeSummary();
+        summary.setId(recipe.getId());
+        summary.setTitle(recipe.getTitle());
+        summary.setCategory(recipe.getCategory());
+        summary.setCuisineType(recipe.getCuisineType());
+        summary.setMediaUrl(recipe.getMediaUrl());
+        summary.setCookingTimeMinutes(recipe.getCookingTimeMinutes());
+        summary.setAverageRating(recipe.getAverageRating());
+        summary.setRatingCount(recipe.getRatingCount());
+        summary.setBayesianScore(recipe.getBayesianScore());
+        summary.setCommentCount(recipe.getCommentCount());
+        return summary;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getCuisineType() { return cuisineType; }
+    public void setCuisineType(String cuisineType) { this.cuisineType = cuisineType; }
+
+    public String getMediaUrl() { return mediaUrl; }
+    public void setMediaUrl(String mediaUrl) { this.mediaUrl = mediaUrl; }
+
+    public Integer getCookingTimeMinutes() { return cookingTimeMinutes; }
+    public void setCookingTimeMinutes(Integer cookingTimeMinutes) { this.cookingTimeMinutes = cookingTimeMinutes; }
+
+    public double getAverageRating() { return averageRating; }
+    public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
+
+    public int getRatingCount() { return ratingCount; }
+    public void setRatingCount(int ratingCount) { this.ratingCount = ratingCount; }
+
+    public Double getBayesianScore() { return bayesianScore; }
+    public void setBayesianScore(Double bayesianScore) { this.bayesianScore = bayesianScore; }
+
+    public int getCommentCount() { return commentCount; }
+    public void setCommentCount(int commentCount) { this.commentCount = commentCount; }
+}
@@ -0,0 +1,26 @@
+package Backend.DTO;
+
+// Approximate view totals for a recipe: every view, and distinct viewers estimated with HyperLogLog
+public class RecipeViewStats {
+    private String recipeId;
+    private long views;
+    private long uniqueViewers;
+
+    public RecipeViewStats() {}
+
+    public RecipeViewStats(String recipeId, long views, long uniqueViewers) {
+        this.recipeId = recipeId;
+        this.views = views;
+        this.uniqueViewers = uniqueViewers;
+    }
+
+    // Getters and Setters
+    public String getRecipeId() { return recipeId; }
+    public void setRecipeId(String recipeId) { this.recipeId = recipeId; }
+
+    public long getViews() { return views; }
+    public void setViews(long views) { this.views = views; }
+
+    public long getUniqueViewers() { return uniqueViewers; }
+    public void setUniqueViewers(long uniqueViewers) { this.uniqueViewers = uniqueViewers; }
+}
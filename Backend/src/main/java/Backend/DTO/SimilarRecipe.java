@@ -0,0 +1,21 @@
+package Backend.DTO;
+
+// A recipe with the Jaccard similarity of its ingredients to the recipe being viewed
+public class SimilarRecipe {
+    private RecipeSummary recipe;
+    private double similarity;
+
+    public SimilarRecipe() {}
+
+    public SimilarRecipe(RecipeSummary recipe, double similarity) {
+        this.recipe = recipe;
+        this.similarity = similarity;
+    }
+
+    // Getters and Setters
+    public RecipeSummary getRecipe() { return recipe; }
+    public void setRecipe(RecipeSummary recipe) { this.recipe = recipe; }
+
+    public double getSimilarity() { return similarity; }
+    public void setSimilarity(double similarity) { this.similarity = similarity; }
+}
@@ -0,0 +1,21 @@
+package Backend.DTO;
+
+// One autocomplete completion: the recipe it leads to and its title as written
+public class TitleSuggestion {
+    private String recipeId;
+    private String title;
+
+    public TitleSuggestion() {}
+
+    public TitleSuggestion(String recipeId, String title) {
+        this.recipeId = recipeId;
+        this.title = title;
+    }
+
+    // Getters and Setters
+    public String getRecipeId() { return recipeId; }
+    public void setRecipeId(String recipeId) { this.recipeId = recipeId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+}
@@ -0,0 +1,21 @@
+package Backend.DTO;
+
+// A recipe with its current time-decayed engagement score
+public class TrendingRecipe {
+    private RecipeSummary recipe;
+    private double score;
+
+    public TrendingRecipe() {}
+
+    public TrendingRecipe(RecipeSummary recipe, double score) {
+        this.recipe = recipe;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public RecipeSummary getRecipe() { return recipe; }
+    public void setRecipe(RecipeSummary recipe) { this.recipe = recipe; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
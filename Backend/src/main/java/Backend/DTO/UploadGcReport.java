@@ -0,0 +1,42 @@
+package Backend.DTO;
+
+import java.util.Date;
+
+// Outcome of one orphaned-upload collection run
+public class UploadGcReport {
+    private Date startedAt;
+    private long durationMs;
+    private long referencesScanned;
+    private long filesScanned;
+    private long filesDeleted;
+    private long bytesReclaimed;
+    private long failures;
+    private boolean completed;
+
+    public UploadGcReport() {}
+
+    // Getters and Setters
+    public Date getStartedAt() { return startedAt; }
+    public void setStartedAt(Date startedAt) { this.startedAt = startedAt; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public long getReferencesScanned() { return referencesScanned; }
+    public void setReferencesScanned(long referencesScanned) { this.referencesScanned = referencesScanned; }
+
+    public long getFilesScanned() { return filesScanned; }
+    public void setFilesScanned(long filesScanned) { this.filesScanned = filesScanned; }
+
+    public long getFilesDeleted() { return filesDeleted; }
+    public void setFilesDeleted(long filesDeleted) { this.filesDeleted = filesDeleted; }
+
+    public long getBytesReclaimed() { return bytesReclaimed; }
+    public void setBytesReclaimed(long bytesReclaimed) { this.bytesReclaimed = bytesReclaimed; }
+
+    public long getFailures() { return failures; }
+    public void setFailures(long failures) { this.failures = failures; }
+
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+}
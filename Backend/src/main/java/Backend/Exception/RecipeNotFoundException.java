@@ -2,13 +2,14 @@ package Backend.Exception;
 
 
 
+// Stackless: it only ever becomes a 404 body, and lookups of unknown ids can arrive in floods
 public class RecipeNotFoundException extends RuntimeException {
 
     public RecipeNotFoundException(Long id) {
-        super("Could not find recipe with ID: " + id);
+        super("Could not find recipe with ID: " + id, null, false, false);
     }
 
     public RecipeNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -1,15 +1,25 @@
 package Backend.Model;
 
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
 import java.io.Serializable;
+import java.util.Date;
 import java.util.UUID;
 
+@Document("recipeComments") // MongoDB collection name
 public class CommentModel implements Serializable {
+    @Id
     private String id;
+    private String recipeId;
     private String user;
     private String text;
     private String avatar;
     private String time;
+    private Date createdAt;
     private Double rating;
+    // Only changed through the helpful-vote endpoint; the voters' ids are kept in the document's helpfulVoters
+    // array, which is not mapped here so it never leaves the database
     private Integer helpful;
 
     public CommentModel() {
@@ -31,6 +41,9 @@ public class CommentModel implements Serializable {
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
 
+    public String getRecipeId() { return recipeId; }
+    public void setRecipeId(String recipeId) { this.recipeId = recipeId; }
+
     public String getUser() { return user; }
     public void setUser(String user) { this.user = user; }
 
@@ -43,6 +56,9 @@ public class CommentModel implements Serializable {
     public String getTime() { return time; }
     public void setTime(String time) { this.time = time; }
 
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
     public Double getRating() { return rating; }
     public void setRating(Double rating) { this.rating = rating != null ? rating : 0.0; }
 
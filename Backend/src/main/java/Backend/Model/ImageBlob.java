@@ -0,0 +1,38 @@
+package Backend.Model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+@Document("imageBlobs") // MongoDB collection name; one document per stored image, keyed by its content key
+public class ImageBlob {
+    @Id
+    private String id; // "<sha256 hex>.<ext>"
+    private long size;
+    private String contentType;
+    private int refCount;
+    private Date createdAt;
+    private Date lastStoredAt; // last upload of these bytes; the janitor's grace period runs from here
+
+    public ImageBlob() {}
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public int getRefCount() { return refCount; }
+    public void setRefCount(int refCount) { this.refCount = refCount; }
+
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
+    public Date getLastStoredAt() { return lastStoredAt; }
+    public void setLastStoredAt(Date lastStoredAt) { this.lastStoredAt = lastStoredAt; }
+}
@@ -0,0 +1,38 @@
+package Backend.Model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+@Document("ratingPriors") // MongoDB collection name; a single document holding the current prior
+public class RatingPrior {
+    public static final String GLOBAL = "global";
+
+    @Id
+    private String id = GLOBAL;
+    private double mean;   // m: average star rating over all ratings
+    private double weight; // C: how many ratings' worth of m every recipe starts with
+    private Date computedAt;
+
+    public RatingPrior() {}
+
+    public RatingPrior(double mean, double weight, Date computedAt) {
+        this.mean = mean;
+        this.weight = weight;
+        this.computedAt = computedAt;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public double getMean() { return mean; }
+    public void setMean(double mean) { this.mean = mean; }
+
+    public double getWeight() { return weight; }
+    public void setWeight(double weight) { this.weight = weight; }
+
+    public Date getComputedAt() { return computedAt; }
+    public void setComputedAt(Date computedAt) { this.computedAt = computedAt; }
+}
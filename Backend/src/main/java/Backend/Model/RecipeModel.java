@@ -1,10 +1,13 @@
 package Backend.Model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Document("recipes") // MongoDB collection name
 public class RecipeModel {
@@ -21,10 +24,29 @@ public class RecipeModel {
     private String cuisineType;
     private String mediaUrl;
 
+    // Derived on every save by RecipeDerivedFieldsListener; older documents are caught up by RecipeBackfillService
+    private List<String> ingredientNames = new ArrayList<>();
+    private String categoryKey;
+    private String cuisineKey;
+    private Integer cookingTimeMinutes;
+    private String cookingTimeBucket;
+    private int derivedFieldsVersion;
+
+    // Bumped by every write to the document; exposed as the ETag of GET /recipes/{id}
+    @Version
+    private Long version;
+
+    // Rating aggregates are maintained server-side from recipeRatings; averageRating = ratingSum / ratingCount
     private double averageRating = 0;
     private int ratingCount = 0;
+    // Null on recipes rated before ratingSum existed, so a full save leaves it absent and the next rating seeds it
+    private Double ratingSum;
+    private Map<String, Integer> ratingHistogram = new HashMap<>(); // "1".."5" -> number of ratings
+    // Bayesian average (C*m + ratingSum) / (C + ratingCount) under the current RatingPrior; null until first rated
+    private Double bayesianScore;
 
-    private List<CommentModel> comments = new ArrayList<>();
+    // Comments live in their own collection; this is kept in step with it
+    private int commentCount = 0;
 
     // Constructors
     public RecipeModel() {}
@@ -71,12 +93,42 @@ public class RecipeModel {
     public String getMediaUrl() { return mediaUrl; }
     public void setMediaUrl(String mediaUrl) { this.mediaUrl = mediaUrl; }
 
+    public List<String> getIngredientNames() { return ingredientNames; }
+    public void setIngredientNames(List<String> ingredientNames) { this.ingredientNames = ingredientNames; }
+
+    public String getCategoryKey() { return categoryKey; }
+    public void setCategoryKey(String categoryKey) { this.categoryKey = categoryKey; }
+
+    public String getCuisineKey() { return cuisineKey; }
+    public void setCuisineKey(String cuisineKey) { this.cuisineKey = cuisineKey; }
+
+    public Integer getCookingTimeMinutes() { return cookingTimeMinutes; }
+    public void setCookingTimeMinutes(Integer cookingTimeMinutes) { this.cookingTimeMinutes = cookingTimeMinutes; }
+
+    public String getCookingTimeBucket() { return cookingTimeBucket; }
+    public void setCookingTimeBucket(String cookingTimeBucket) { this.cookingTimeBucket = cookingTimeBucket; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public int getDerivedFieldsVersion() { return derivedFieldsVersion; }
+    public void setDerivedFieldsVersion(int derivedFieldsVersion) { this.derivedFieldsVersion = derivedFieldsVersion; }
+
     public double getAverageRating() { return averageRating; }
     public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
 
     public int getRatingCount() { return ratingCount; }
     public void setRatingCount(int ratingCount) { this.ratingCount = ratingCount; }
 
-    public List<CommentModel> getComments() { return comments; }
-    public void setComments(List<CommentModel> comments) { this.comments = comments; }
+    public Double getRatingSum() { return ratingSum; }
+    public void setRatingSum(Double ratingSum) { this.ratingSum = ratingSum; }
+
+    public Map<String, Integer> getRatingHistogram() { return ratingHistogram; }
+    public void setRatingHistogram(Map<String, Integer> ratingHistogram) { this.ratingHistogram = ratingHistogram; }
+
+    public Double getBayesianScore() { return bayesianScore; }
+    public void setBayesianScore(Double bayesianScore) { this.bayesianScore = bayesianScore; }
+
+    public int getCommentCount() { return commentCount; }
+    public void setCommentCount(int commentCount) { this.commentCount = commentCount; }
 }
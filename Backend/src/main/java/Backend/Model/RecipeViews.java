@@ -0,0 +1,33 @@
+package Backend.Model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+@Document("recipeViews") // MongoDB collection name; one document per viewed recipe, keyed by recipe id
+public class RecipeViews {
+    @Id
+    private String id;
+    private long views;
+    // Non-zero HyperLogLog registers of the recipe's viewers, register index -> rank; merged with $max
+    private Map<String, Integer> viewers = new HashMap<>();
+    private Date updatedAt;
+
+    public RecipeViews() {}
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public long getViews() { return views; }
+    public void setViews(long views) { this.views = views; }
+
+    public Map<String, Integer> getViewers() { return viewers; }
+    public void setViewers(Map<String, Integer> viewers) { this.viewers = viewers; }
+
+    public Date getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,49 @@
+package Backend.Model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+@Document("trendingSnapshots") // MongoDB collection name; a single document holding the latest top-N
+public class TrendingSnapshot {
+    public static final String CURRENT = "current";
+
+    @Id
+    private String id = CURRENT;
+    private Date takenAt;
+    private List<Entry> entries = new ArrayList<>();
+
+    public TrendingSnapshot() {}
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Date getTakenAt() { return takenAt; }
+    public void setTakenAt(Date takenAt) { this.takenAt = takenAt; }
+
+    public List<Entry> getEntries() { return entries; }
+    public void setEntries(List<Entry> entries) { this.entries = entries; }
+
+    // Score already decayed to takenAt
+    public static class Entry {
+        private String recipeId;
+        private double score;
+
+        public Entry() {}
+
+        public Entry(String recipeId, double score) {
+            this.recipeId = recipeId;
+            this.score = score;
+        }
+
+        public String getRecipeId() { return recipeId; }
+        public void setRecipeId(String recipeId) { this.recipeId = recipeId; }
+
+        public double getScore() { return score; }
+        public void setScore(double score) { this.score = score; }
+    }
+}
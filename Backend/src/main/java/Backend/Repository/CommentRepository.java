@@ -0,0 +1,9 @@
+package Backend.Repository;
+
+import Backend.Model.CommentModel;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface CommentRepository extends MongoRepository<CommentModel, String>, CommentRepositoryCustom {
+    long countByRecipeId(String recipeId);
+    void deleteByRecipeId(String recipeId);
+}
@@ -0,0 +1,18 @@
+package Backend.Repository;
+
+import Backend.DTO.CursorPage;
+import Backend.DTO.HelpfulVote;
+import Backend.Model.CommentModel;
+
+public interface CommentRepositoryCustom {
+
+    // Newest-first keyset page of a recipe's comments; cursor is the nextCursor of the previous page (null for the first)
+    CursorPage<CommentModel> findPageByRecipeId(String recipeId, String cursor, int size);
+
+    // Most-helpful-first keyset page of a recipe's comments
+    CursorPage<CommentModel> findHelpfulPageByRecipeId(String recipeId, String cursor, int size);
+
+    // Adds or withdraws one user's helpful vote; a repeated vote or withdrawal leaves the count unchanged.
+    // Returns null if the comment does not exist on that recipe.
+    HelpfulVote voteHelpful(String recipeId, String commentId, String userId, boolean helpful);
+}
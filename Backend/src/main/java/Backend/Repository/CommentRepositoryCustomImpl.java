@@ -0,0 +1,132 @@
+package Backend.Repository;
+
+import Backend.DTO.CursorPage;
+import Backend.DTO.HelpfulVote;
+import Backend.Model.CommentModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    // Ids of the users who marked a comment helpful; unmapped, and excluded from every read
+    private static final String HELPFUL_VOTERS = "helpfulVoters";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public CommentRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public CursorPage<CommentModel> findPageByRecipeId(String recipeId, String cursor, int size) {
+        Criteria criteria = Criteria.where("recipeId").is(recipeId);
+        if (cursor != null && !cursor.isEmpty()) {
+            // Keyset on (createdAt, _id) so comments sharing a timestamp are neither skipped nor repeated
+            String[] key = decodeCursor(cursor);
+            Date createdAt = new Date(Long.parseLong(key[0]));
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(createdAt),
+                    Criteria.where("createdAt").is(createdAt).and("_id").lt(key[1]));
+        }
+
+        // Served by the (recipeId, createdAt, _id) index
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                .limit(size + 1);
+        query.fields().exclude(HELPFUL_VOTERS);
+        List<CommentModel> rows = new ArrayList<>(mongoTemplate.find(query, CommentModel.class));
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            CommentModel last = rows.get(size - 1);
+            nextCursor = encodeCursor(last.getCreatedAt().getTime() + ":" + last.getId());
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    @Override
+    public CursorPage<CommentModel> findHelpfulPageByRecipeId(String recipeId, String cursor, int size) {
+        Criteria criteria = Criteria.where("recipeId").is(recipeId);
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] key = decodeCursor(cursor);
+            int helpful = Integer.parseInt(key[0]);
+            criteria = criteria.orOperator(
+                    Criteria.where("helpful").lt(helpful),
+                    Criteria.where("helpful").is(helpful).and("_id").lt(key[1]));
+        }
+
+        // Served by the (recipeId, helpful, _id) index, so no in-memory sort
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "helpful", "_id"))
+                .limit(size + 1);
+        query.fields().exclude(HELPFUL_VOTERS);
+        List<CommentModel> rows = new ArrayList<>(mongoTemplate.find(query, CommentModel.class));
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            CommentModel last = rows.get(size - 1);
+            int helpful = last.getHelpful() == null ? 0 : last.getHelpful();
+            nextCursor = encodeCursor(helpful + ":" + last.getId());
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    @Override
+    public HelpfulVote voteHelpful(String recipeId, String commentId, String userId, boolean helpful) {
+        // The voter condition and the counter change are one atomic write, so a user counts at most once
+        Criteria criteria = Criteria.where("_id").is(commentId).and("recipeId").is(recipeId);
+        Update update;
+        if (helpful) {
+            criteria = criteria.and(HELPFUL_VOTERS).ne(userId);
+            update = new Update().push(HELPFUL_VOTERS, userId).inc("helpful", 1);
+        } else {
+            criteria = criteria.and(HELPFUL_VOTERS).is(userId);
+            update = new Update().pull(HELPFUL_VOTERS, userId).inc("helpful", -1);
+        }
+        Query query = new Query(criteria);
+        query.fields().include("helpful");
+        CommentModel changed = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), CommentModel.class);
+        if (changed != null) {
+            return new HelpfulVote(commentId, changed.getHelpful(), true);
+        }
+
+        // Nothing to change: the vote was already in that state, or the comment does not exist
+        Query current = Query.query(Criteria.where("_id").is(commentId).and("recipeId").is(recipeId));
+        current.fields().include("helpful");
+        CommentModel comment = mongoTemplate.findOne(current, CommentModel.class);
+        return comment == null ? null : new HelpfulVote(commentId, comment.getHelpful(), false);
+    }
+
+    static String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decodeCursor(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = key.split(":", 2);
+            Long.parseLong(parts[0]);
+            if (parts.length != 2 || parts[1].isEmpty()) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return parts;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package Backend.Repository;
+
+import Backend.Model.RatingModel;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Optional;
+
+public interface RatingRepository extends MongoRepository<RatingModel, String>, RatingRepositoryCustom {
+    Optional<RatingModel> findByRecipeIdAndUserId(String recipeId, String userId);
+    void deleteByRecipeId(String recipeId);
+}
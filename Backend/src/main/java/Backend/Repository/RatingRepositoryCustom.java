@@ -0,0 +1,7 @@
+package Backend.Repository;
+
+public interface RatingRepositoryCustom {
+
+    // Records the user's rating and returns the one it replaced, or 0 if this is their first rating
+    int upsertRating(String recipeId, String userId, int rating);
+}
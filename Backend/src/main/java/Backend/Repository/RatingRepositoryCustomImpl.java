@@ -0,0 +1,38 @@
+package Backend.Repository;
+
+import Backend.Model.RatingModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Date;
+
+public class RatingRepositoryCustomImpl implements RatingRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public RatingRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public int upsertRating(String recipeId, String userId, int rating) {
+        Query query = Query.query(Criteria.where("recipeId").is(recipeId).and("userId").is(userId));
+        Update update = new Update().set("rating", rating).set("updatedAt", new Date());
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(false);
+
+        RatingModel previous;
+        try {
+            previous = mongoTemplate.findAndModify(query, update, options, RatingModel.class);
+        } catch (DuplicateKeyException e) {
+            // Lost an insert race against the same user's concurrent first rating; the row exists now
+            previous = mongoTemplate.findAndModify(query, update, options, RatingModel.class);
+        }
+        return previous != null ? previous.getRating() : 0;
+    }
+}
@@ -0,0 +1,43 @@
+package Backend.Repository;
+
+import Backend.DTO.CursorPage;
+import Backend.DTO.RecipeSummary;
+import Backend.Model.CommentModel;
+import Backend.Model.RatingPrior;
+import Backend.Model.RecipeModel;
+import Backend.enums.RecipeSort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+public interface RecipeRepositoryCustom {
+
+    // Keyset page of recipe summaries in the given order; cursor is the nextCursor of the previous page (null for the first)
+    CursorPage<RecipeSummary> findSummaryPage(Criteria filter, RecipeSort sort, String cursor, int size);
+
+    // Gives a recipe written before versioning version 0, so it can take part in conditional updates
+    void initVersion(String recipeId);
+
+    // Applies a partial update only if the recipe is still at expectedVersion, bumping the version in the same
+    // write. Returns the recipe as it was before, or null if it does not exist or has moved past that version.
+    RecipeModel updateIfVersion(String recipeId, long expectedVersion, Update update);
+
+    // Summaries for the given ids in the same order; ids that do not exist are skipped
+    List<RecipeSummary> findSummariesByIds(List<String> ids);
+
+    // Comment writes: each is a single atomic operation on one comment plus an $inc of the recipe's commentCount,
+    // and each returns only the affected comment. A null result means the recipe or comment does not exist.
+    CommentModel pushComment(String recipeId, CommentModel comment);
+
+    CommentModel setComment(String recipeId, String commentId, CommentModel changes);
+
+    CommentModel pullComment(String recipeId, String commentId);
+
+    // Replaces a user's previous star rating (0 = none) with a new one in a single atomic update, rescoring the
+    // recipe under the given prior, and returns the recipe's rating fields afterwards, or null if it does not exist
+    RecipeModel applyRating(String recipeId, int previousRating, int newRating, RatingPrior prior);
+
+    // Rescores every rated recipe under a new prior; returns how many documents changed
+    long rescoreAll(RatingPrior prior);
+}
@@ -0,0 +1,264 @@
+package Backend.Repository;
+
+import Backend.DTO.CursorPage;
+import Backend.DTO.RecipeSummary;
+import Backend.Model.CommentModel;
+import Backend.Model.RatingPrior;
+import Backend.Model.RecipeModel;
+import Backend.enums.RecipeSort;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RecipeRepositoryCustomImpl implements RecipeRepositoryCustom {
+
+    private static final String[] SUMMARY_FIELDS = {
+            "title", "category", "cuisineType", "mediaUrl", "cookingTimeMinutes",
+            "averageRating", "ratingCount", "bayesianScore", "commentCount"};
+
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public RecipeRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public CursorPage<RecipeSummary> findSummaryPage(Criteria filter, RecipeSort sort, String cursor, int size) {
+        List<Criteria> conditions = new ArrayList<>();
+        if (filter != null) {
+            conditions.add(filter);
+        }
+        if (sort.getField() != null) {
+            // Recipes without a value for the sort key are left out rather than bunched at one end
+            conditions.add(Criteria.where(sort.getField()).ne(null));
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            conditions.add(afterCursor(sort, cursor));
+        }
+        Criteria match = conditions.isEmpty() ? new Criteria() : new Criteria().andOperator(conditions);
+
+        Sort order = sort.getField() != null
+                ? Sort.by(sort.getDirection(), sort.getField(), "_id")
+                : Sort.by(sort.getDirection(), "_id");
+
+        // Fetch one extra row to find out whether another page exists
+        TypedAggregation<RecipeModel> aggregation = Aggregation.newAggregation(RecipeModel.class,
+                Aggregation.match(match),
+                Aggregation.sort(order),
+                Aggregation.limit(size + 1L),
+                Aggregation.project(SUMMARY_FIELDS));
+
+        List<RecipeSummary> rows = new ArrayList<>(
+                mongoTemplate.aggregate(aggregation, RecipeSummary.class).getMappedResults());
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = encodeCursor(sort, rows.get(size - 1));
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    @Override
+    public void initVersion(String recipeId) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(recipeId).and("version").exists(false)),
+                new Update().set("version", 0L), RecipeModel.class);
+    }
+
+    @Override
+    public RecipeModel updateIfVersion(String recipeId, long expectedVersion, Update update) {
+        // Documents written before versioning carry ETag "0"
+        Criteria version = expectedVersion == 0
+                ? new Criteria().orOperator(Criteria.where("version").is(0L), Criteria.where("version").exists(false))
+                : Criteria.where("version").is(expectedVersion);
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(recipeId)).addCriteria(version),
+                update.inc("version", 1), FindAndModifyOptions.options().returnNew(false), RecipeModel.class);
+    }
+
+    @Override
+    public List<RecipeSummary> findSummariesByIds(List<String> ids) {
+        if (ids.isEmpty()) return List.of();
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include(SUMMARY_FIELDS);
+
+        Map<String, RecipeSummary> byId = new HashMap<>();
+        for (RecipeSummary summary : mongoTemplate.find(query, RecipeSummary.class, "recipes")) {
+            byId.put(summary.getId(), summary);
+        }
+        List<RecipeSummary> ordered = new ArrayList<>(byId.size());
+        for (String id : ids) {
+            RecipeSummary summary = byId.get(id);
+            if (summary != null) ordered.add(summary);
+        }
+        return ordered;
+    }
+
+    @Override
+    public CommentModel pushComment(String recipeId, CommentModel comment) {
+        // Bumping the counter first doubles as the existence check, so no recipe read is needed
+        if (incrementCommentCount(recipeId, 1) == 0) {
+            return null;
+        }
+        comment.setRecipeId(recipeId);
+        try {
+            return mongoTemplate.insert(comment);
+        } catch (RuntimeException e) {
+            incrementCommentCount(recipeId, -1);
+            throw e;
+        }
+    }
+
+    @Override
+    public CommentModel setComment(String recipeId, String commentId, CommentModel changes) {
+        Update update = new Update();
+        if (changes.getText() != null) update.set("text", changes.getText());
+        if (changes.getTime() != null) update.set("time", changes.getTime());
+        if (changes.getAvatar() != null) update.set("avatar", changes.getAvatar());
+        if (changes.getUser() != null) update.set("user", changes.getUser());
+        if (changes.getRating() != null) update.set("rating", changes.getRating());
+
+        Query query = commentQuery(recipeId, commentId);
+        if (update.getUpdateObject().isEmpty()) {
+            return mongoTemplate.findOne(query, CommentModel.class);
+        }
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), CommentModel.class);
+    }
+
+    @Override
+    public CommentModel pullComment(String recipeId, String commentId) {
+        // Only the caller that actually removed the comment decrements, so concurrent deletes cannot double-count
+        CommentModel removed = mongoTemplate.findAndRemove(commentQuery(recipeId, commentId), CommentModel.class);
+        if (removed != null) {
+            incrementCommentCount(recipeId, -1);
+        }
+        return removed;
+    }
+
+    private long incrementCommentCount(String recipeId, int delta) {
+        return mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(recipeId)),
+                new Update().inc("commentCount", delta).inc("version", 1), RecipeModel.class).getMatchedCount();
+    }
+
+    private static Query commentQuery(String recipeId, String commentId) {
+        return Query.query(Criteria.where("_id").is(commentId).and("recipeId").is(recipeId));
+    }
+
+    @Override
+    public RecipeModel applyRating(String recipeId, int previousRating, int newRating, RatingPrior prior) {
+        int sumDelta = newRating - previousRating;
+        int countDelta = previousRating == 0 ? 1 : 0;
+
+        // Pipeline update: every stage reads the output of the one before, so the whole change is one atomic write.
+        // Recipes rated before ratingSum existed seed it from averageRating * ratingCount.
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("ratingSum").toValue(ArithmeticOperators.Add.valueOf(
+                        ConditionalOperators.ifNull("ratingSum").then(
+                                ArithmeticOperators.Multiply.valueOf("averageRating").multiplyBy("ratingCount")))
+                        .add(sumDelta))
+                .set("ratingCount").toValue(ArithmeticOperators.Add.valueOf("ratingCount").add(countDelta))
+                .set(histogramBucket(newRating)).toValue(incremented(histogramBucket(newRating), 1));
+        if (previousRating != 0) {
+            update = update.set(histogramBucket(previousRating)).toValue(incremented(histogramBucket(previousRating), -1));
+        }
+        update = update.set("averageRating").toValue(ConditionalOperators
+                .when(ComparisonOperators.Gt.valueOf("ratingCount").greaterThanValue(0))
+                .then(ArithmeticOperators.Divide.valueOf("ratingSum").divideBy("ratingCount"))
+                .otherwise(0))
+                .set("bayesianScore").toValue(bayesianScore(prior))
+                .set("version").toValue(incremented("version", 1));
+
+        Query query = Query.query(Criteria.where("_id").is(recipeId));
+        query.fields().include("averageRating", "ratingCount", "ratingSum", "ratingHistogram", "bayesianScore");
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), RecipeModel.class);
+    }
+
+    @Override
+    public long rescoreAll(RatingPrior prior) {
+        // Only documents whose score actually moves are written, so their versions and ETags stay put otherwise
+        AggregationExpression rescored = bayesianScore(prior);
+        Query query = Query.query(new Criteria().andOperator(
+                Criteria.where("ratingCount").gt(0),
+                Criteria.expr(ComparisonOperators.Ne.valueOf("bayesianScore").notEqualTo(rescored))));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("bayesianScore").toValue(rescored)
+                .set("version").toValue(incremented("version", 1));
+        return mongoTemplate.updateMulti(query, update, RecipeModel.class).getModifiedCount();
+    }
+
+    // (C*m + ratingSum) / (C + ratingCount); ratingSum falls back to averageRating * ratingCount on old documents
+    private static AggregationExpression bayesianScore(RatingPrior prior) {
+        return ArithmeticOperators.Divide.valueOf(
+                        ArithmeticOperators.Add.valueOf(ConditionalOperators.ifNull("ratingSum").then(
+                                        ArithmeticOperators.Multiply.valueOf("averageRating").multiplyBy("ratingCount")))
+                                .add(prior.getWeight() * prior.getMean()))
+                .divideBy(ArithmeticOperators.Add.valueOf("ratingCount").add(prior.getWeight()));
+    }
+
+    private static String histogramBucket(int stars) {
+        return "ratingHistogram." + stars;
+    }
+
+    private static ArithmeticOperators.Add incremented(String field, int delta) {
+        return ArithmeticOperators.Add.valueOf(ConditionalOperators.ifNull(field).then(0)).add(delta);
+    }
+
+    // Cursor = sort name, sort key of the last row (empty for NEWEST) and its _id
+    static String encodeCursor(RecipeSort sort, RecipeSummary last) {
+        String value = sort.getField() != null ? String.valueOf(sort.valueOf(last)) : "";
+        String key = sort.name() + ":" + value + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Criteria afterCursor(RecipeSort sort, String cursor) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        if (parts.length != 3 || !parts[0].equals(sort.name()) || !ObjectId.isValid(parts[2])) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        ObjectId lastId = new ObjectId(parts[2]);
+        boolean ascending = sort.getDirection() == Sort.Direction.ASC;
+        Criteria idAfter = ascending ? Criteria.where("_id").gt(lastId) : Criteria.where("_id").lt(lastId);
+        if (sort.getField() == null) {
+            return idAfter;
+        }
+
+        // Numbers compare across BSON types, so a double works for int fields too
+        double lastValue;
+        try {
+            lastValue = Double.parseDouble(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        Criteria valueAfter = ascending
+                ? Criteria.where(sort.getField()).gt(lastValue)
+                : Criteria.where(sort.getField()).lt(lastValue);
+        return new Criteria().orOperator(valueAfter,
+                new Criteria().andOperator(Criteria.where(sort.getField()).is(lastValue), idAfter));
+    }
+}
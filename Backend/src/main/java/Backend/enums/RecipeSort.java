@@ -0,0 +1,41 @@
+package Backend.enums;
+
+import Backend.DTO.RecipeSummary;
+import org.springframework.data.domain.Sort;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+// Orderings for keyset-paginated recipe listings; ties are always broken by _id in the same direction
+public enum RecipeSort {
+    NEWEST(null, Sort.Direction.DESC, null),
+    QUICKEST("cookingTimeMinutes", Sort.Direction.ASC, RecipeSummary::getCookingTimeMinutes),
+    SLOWEST("cookingTimeMinutes", Sort.Direction.DESC, RecipeSummary::getCookingTimeMinutes),
+    TOP_RATED("bayesianScore", Sort.Direction.DESC, RecipeSummary::getBayesianScore);
+
+    private final String field;
+    private final Sort.Direction direction;
+    private final Function<RecipeSummary, Number> value;
+
+    RecipeSort(String field, Sort.Direction direction, Function<RecipeSummary, Number> value) {
+        this.field = field;
+        this.direction = direction;
+        this.value = value;
+    }
+
+    // Sort key other than _id, or null when the listing is ordered by _id alone
+    public String getField() { return field; }
+    public Sort.Direction getDirection() { return direction; }
+
+    // The row's value for the sort key, as carried in page cursors
+    public Number valueOf(RecipeSummary row) { return value == null ? null : value.apply(row); }
+
+    public static RecipeSort fromParam(String param) {
+        if (param == null || param.isEmpty()) return NEWEST;
+        try {
+            return valueOf(param.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sort: " + param);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package Backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index ranked with BM25F: per-field term frequencies are length-normalized and boosted,
+ * summed, then saturated once per term.
+ *
+ * Documents get an ordinal on every (re)index, so posting lists stay sorted by appending. Replaced and removed
+ * ordinals are marked dead and dropped in a compaction pass once they outnumber the live ones.
+ */
+public class Bm25Index {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final float[] boosts;
+    private final int fieldCount;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> ordinalById = new HashMap<>();
+    private List<String> idByOrdinal = new ArrayList<>();
+    private List<String[]> termsByOrdinal = new ArrayList<>();
+    private int[] fieldLengths = new int[0]; // ordinal * fieldCount + field
+    private BitSet live = new BitSet();
+    private final long[] totalFieldLength;
+    private int liveCount;
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public Bm25Index(float... boosts) {
+        this.boosts = boosts.clone();
+        this.fieldCount = boosts.length;
+        this.totalFieldLength = new long[fieldCount];
+    }
+
+    // Adds or replaces a document; fieldTerms holds the analyzed terms of each field, in boost order
+    public void put(String id, List<List<String>> fieldTerms) {
+        Map<String, int[]> tfs = new HashMap<>();
+        int[] lengths = new int[fieldCount];
+        for (int f = 0; f < fieldCount; f++) {
+            List<String> terms = f < fieldTerms.size() ? fieldTerms.get(f) : List.of();
+            lengths[f] = terms.size();
+            for (String term : terms) {
+                tfs.computeIfAbsent(term, t -> new int[fieldCount])[f]++;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int ordinal = idByOrdinal.size();
+            idByOrdinal.add(id);
+            termsByOrdinal.add(tfs.keySet().toArray(new String[0]));
+            ordinalById.put(id, ordinal);
+            live.set(ordinal);
+            liveCount++;
+
+            if (fieldLengths.length < (ordinal + 1) * fieldCount) {
+                fieldLengths = Arrays.copyOf(fieldLengths, Math.max((ordinal + 1) * fieldCount, fieldLengths.length * 2));
+            }
+            for (int f = 0; f < fieldCount; f++) {
+                fieldLengths[ordinal * fieldCount + f] = lengths[f];
+                totalFieldLength[f] += lengths[f];
+            }
+            for (Map.Entry<String, int[]> e : tfs.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), t -> new Postings(fieldCount)).add(ordinal, e.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Hit> search(List<String> queryTerms, int limit) {
+        if (queryTerms.isEmpty() || limit <= 0) return List.of();
+        Set<String> unique = new HashSet<>(queryTerms);
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) return List.of();
+            Scratch s = scratch.get();
+            s.ensureCapacity(idByOrdinal.size());
+
+            float[] avgLength = new float[fieldCount];
+            for (int f = 0; f < fieldCount; f++) {
+                avgLength[f] = Math.max(1f, (float) totalFieldLength[f] / liveCount);
+            }
+
+            for (String term : unique) {
+                Postings p = postings.get(term);
+                if (p == null || p.liveDocs == 0) continue;
+                double idf = Math.log(1 + (liveCount - p.liveDocs + 0.5) / (p.liveDocs + 0.5));
+                for (int i = 0; i < p.size; i++) {
+                    int ordinal = p.docs[i];
+                    if (!live.get(ordinal)) continue;
+                    float weightedTf = 0;
+                    for (int f = 0; f < fieldCount; f++) {
+                        int tf = p.tfs[i * fieldCount + f];
+                        if (tf == 0) continue;
+                        float norm = 1 - B + B * fieldLengths[ordinal * fieldCount + f] / avgLength[f];
+                        weightedTf += boosts[f] * tf / norm;
+                    }
+                    s.add(ordinal, (float) (idf * weightedTf * (K1 + 1) / (weightedTf + K1)));
+                }
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(a.getScore(), b.getScore()));
+            for (int i = 0; i < s.touchedCount; i++) {
+                int ordinal = s.touched[i];
+                float score = s.scores[ordinal];
+                s.scores[ordinal] = 0;
+                if (top.size() < limit) {
+                    top.add(new Hit(idByOrdinal.get(ordinal), score));
+                } else if (score > top.peek().getScore()) {
+                    top.poll();
+                    top.add(new Hit(idByOrdinal.get(ordinal), score));
+                }
+            }
+            s.touchedCount = 0;
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(String id) {
+        Integer ordinal = ordinalById.remove(id);
+        if (ordinal == null) return;
+        live.clear(ordinal);
+        liveCount--;
+        for (int f = 0; f < fieldCount; f++) {
+            totalFieldLength[f] -= fieldLengths[ordinal * fieldCount + f];
+        }
+        for (String term : termsByOrdinal.get(ordinal)) {
+            Postings p = postings.get(term);
+            if (p != null && --p.liveDocs == 0) postings.remove(term);
+        }
+        termsByOrdinal.set(ordinal, null);
+
+        int dead = idByOrdinal.size() - liveCount;
+        if (dead > 1024 && dead > liveCount) compactLocked();
+    }
+
+    // Renumbers live documents densely; relative order is kept, so posting lists stay sorted
+    private void compactLocked() {
+        int[] remap = new int[idByOrdinal.size()];
+        List<String> ids = new ArrayList<>(liveCount);
+        List<String[]> terms = new ArrayList<>(liveCount);
+        int[] lengths = new int[Math.max(1, liveCount) * fieldCount];
+        for (int old = live.nextSetBit(0); old >= 0; old = live.nextSetBit(old + 1)) {
+            int ordinal = ids.size();
+            remap[old] = ordinal;
+            ids.add(idByOrdinal.get(old));
+            terms.add(termsByOrdinal.get(old));
+            System.arraycopy(fieldLengths, old * fieldCount, lengths, ordinal * fieldCount, fieldCount);
+            ordinalById.put(idByOrdinal.get(old), ordinal);
+        }
+        for (Postings p : postings.values()) {
+            p.compact(live, remap);
+        }
+        idByOrdinal = ids;
+        termsByOrdinal = terms;
+        fieldLengths = lengths;
+        live = new BitSet(ids.size());
+        live.set(0, ids.size());
+    }
+
+    public static final class Hit {
+        private final String id;
+        private final double score;
+
+        Hit(String id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public String getId() { return id; }
+        public double getScore() { return score; }
+    }
+
+    private static final class Postings {
+        private final int fieldCount;
+        private int[] docs = new int[4];
+        private int[] tfs;
+        private int size;
+        private int liveDocs;
+
+        Postings(int fieldCount) {
+            this.fieldCount = fieldCount;
+            this.tfs = new int[4 * fieldCount];
+        }
+
+        void add(int ordinal, int[] fieldTfs) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2 * fieldCount);
+            }
+            docs[size] = ordinal;
+            System.arraycopy(fieldTfs, 0, tfs, size * fieldCount, fieldCount);
+            size++;
+            liveDocs++;
+        }
+
+        void compact(BitSet live, int[] remap) {
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (!live.get(docs[i])) continue;
+                docs[n] = remap[docs[i]];
+                System.arraycopy(tfs, i * fieldCount, tfs, n * fieldCount, fieldCount);
+                n++;
+            }
+            size = n;
+        }
+    }
+
+    // Per-thread score accumulator, reset after every query by walking only the touched ordinals
+    private static final class Scratch {
+        float[] scores = new float[0];
+        int[] touched = new int[64];
+        int touchedCount;
+
+        void ensureCapacity(int n) {
+            if (scores.length < n) scores = new float[Math.max(n, scores.length * 2)];
+        }
+
+        void add(int ordinal, float score) {
+            if (scores[ordinal] == 0) {
+                if (touchedCount == touched.length) touched = Arrays.copyOf(touched, touchedCount * 2);
+                touched[touchedCount++] = ordinal;
+            }
+            scores[ordinal] += score;
+        }
+    }
+}
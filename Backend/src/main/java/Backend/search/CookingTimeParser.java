@@ -0,0 +1,49 @@
+package Backend.search;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Reads display strings such as "1 hr 20 mins", "1.5 hours", "1h30m", "20-30 min" or "45" as whole minutes
+public final class CookingTimeParser {
+
+    private static final Pattern AMOUNT = Pattern.compile(
+            "(\\d+(?:[.,]\\d+)?)(?:\\s*(?:-|–|to)\\s*(\\d+(?:[.,]\\d+)?))?\\s*(days?|d|hours?|hrs?|h|minutes?|mins?|m)?(?![a-z])");
+
+    // Upper bounds (exclusive) of the browse buckets, in minutes; the last bucket is open-ended
+    private static final int[] BUCKET_LIMITS = {15, 30, 60, 120};
+    private static final String[] BUCKETS = {"0-15", "15-30", "30-60", "60-120", "120+"};
+
+    private CookingTimeParser() {}
+
+    // Returns null when the text contains no recognizable duration; ranges count as their upper end
+    public static Integer parseMinutes(String text) {
+        if (text == null || text.isBlank()) return null;
+        String s = text.toLowerCase(Locale.ROOT);
+
+        Matcher m = AMOUNT.matcher(s);
+        double total = 0;
+        boolean found = false;
+        while (m.find()) {
+            double value = Double.parseDouble((m.group(2) != null ? m.group(2) : m.group(1)).replace(',', '.'));
+            String unit = m.group(3);
+            if (unit == null || unit.startsWith("m")) {
+                total += value;
+            } else if (unit.startsWith("h")) {
+                total += value * 60;
+            } else {
+                total += value * 24 * 60;
+            }
+            found = true;
+        }
+        return found ? (int) Math.round(total) : null;
+    }
+
+    public static String bucket(Integer minutes) {
+        if (minutes == null) return null;
+        for (int i = 0; i < BUCKET_LIMITS.length; i++) {
+            if (minutes < BUCKET_LIMITS[i]) return BUCKETS[i];
+        }
+        return BUCKETS[BUCKETS.length - 1];
+    }
+}
@@ -0,0 +1,29 @@
+package Backend.search;
+
+import java.nio.charset.StandardCharsets;
+
+// 64-bit string hashing for the in-memory sketches and indexes; stable across runs and JVMs, unlike hashCode
+public final class Hashing {
+
+    private Hashing() {}
+
+    // FNV-1a over the UTF-8 bytes, finished with a 64-bit avalanche so every output bit is usable
+    public static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix64(h);
+    }
+
+    // MurmurHash3 finalizer
+    public static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
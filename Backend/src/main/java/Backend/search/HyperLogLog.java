@@ -0,0 +1,42 @@
+package Backend.search;
+
+/**
+ * HyperLogLog register math for distinct counting. A sketch is 2^PRECISION one-byte registers; each holds the
+ * longest run of leading zeros seen among the hashes routed to it. Registers from different sketches merge by
+ * taking the maximum, so partial sketches can be combined in any order (and with Mongo's $max).
+ * With 2048 registers the standard error is about 2.3%.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 11;
+    public static final int REGISTERS = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private HyperLogLog() {}
+
+    public static int register(long hash) {
+        return (int) (hash >>> (64 - PRECISION));
+    }
+
+    // Position of the first set bit in the remaining hash bits, 1-based
+    public static byte rank(long hash) {
+        long rest = hash << PRECISION;
+        return (byte) Math.min(Long.numberOfLeadingZeros(rest) + 1, 64 - PRECISION + 1);
+    }
+
+    public static long estimate(byte[] registers) {
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) zeros++;
+        }
+        double raw = ALPHA * REGISTERS * REGISTERS / sum;
+        // Linear counting is more accurate while many registers are still empty
+        if (raw <= 2.5 * REGISTERS && zeros > 0) {
+            raw = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(raw);
+    }
+}
@@ -0,0 +1,79 @@
+package Backend.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Extracts normalized ingredient names ("2 cups chopped ripe tomatoes" -> "tomato") from the free-form
+// ingredients text of a recipe, one or more per line
+public final class IngredientParser {
+
+    private static final Pattern LINE_SPLIT = Pattern.compile("[\\n\\r;•]+|,(?![^(]*\\))");
+    private static final Pattern CONJUNCTION_SPLIT = Pattern.compile("\\s+(?:and|or|&)\\s+");
+    private static final Pattern PARENTHESES = Pattern.compile("\\([^)]*\\)");
+    private static final Pattern NON_WORD = Pattern.compile("[^a-z\\s]+");
+
+    private static final Set<String> UNITS = Set.of(
+            "cup", "cups", "c", "tbsp", "tbs", "tablespoon", "tablespoons", "tsp", "teaspoon", "teaspoons",
+            "g", "gram", "grams", "kg", "kilogram", "kilograms", "mg", "ml", "milliliter", "milliliters", "l",
+            "liter", "liters", "litre", "litres", "oz", "ounce", "ounces", "lb", "lbs", "pound", "pounds",
+            "pinch", "pinches", "dash", "dashes", "handful", "handfuls", "bunch", "bunches", "can", "cans",
+            "tin", "tins", "packet", "packets", "pack", "package", "packages", "piece", "pieces", "slice",
+            "slices", "stick", "sticks", "sprig", "sprigs", "drop", "drops", "inch", "cm", "pcs", "pc",
+            "jar", "jars", "bottle", "bottles", "box", "bag", "cube", "cubes", "head", "heads", "stalk",
+            "stalks", "leaf", "leaves", "clove", "cloves", "x", "of");
+
+    private static final Set<String> DESCRIPTORS = Set.of(
+            "chopped", "diced", "minced", "sliced", "grated", "shredded", "crushed", "ground", "fresh",
+            "freshly", "finely", "roughly", "thinly", "large", "small", "medium", "big", "ripe", "raw",
+            "cooked", "boiled", "peeled", "seeded", "deseeded", "halved", "quartered", "cubed", "beaten",
+            "softened", "melted", "room", "temperature", "cold", "warm", "hot", "optional", "taste", "to",
+            "for", "garnish", "serving", "about", "approx", "approximately", "some", "few", "more", "extra",
+            "a", "an", "the", "plus", "additional", "whole", "boneless", "skinless", "frozen", "dried",
+            "canned", "organic", "pitted", "rinsed", "drained", "trimmed", "washed", "as", "needed",
+            "required", "divided", "heaped", "heaping", "level", "generous", "scant", "good", "quality",
+            "into", "cut", "pieces", "and", "or", "with", "without", "in", "on");
+
+    private IngredientParser() {}
+
+    public static List<String> parse(String ingredients) {
+        Set<String> names = new LinkedHashSet<>();
+        if (ingredients == null || ingredients.isBlank()) return new ArrayList<>(names);
+
+        for (String line : LINE_SPLIT.split(ingredients)) {
+            String cleaned = PARENTHESES.matcher(TextAnalyzer.fold(line)).replaceAll(" ");
+            for (String part : CONJUNCTION_SPLIT.split(cleaned)) {
+                String name = normalize(part);
+                if (!name.isEmpty()) names.add(name);
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    // Normalizes one ingredient mention: strips quantities, units and descriptors and singularizes the words left
+    public static String normalize(String mention) {
+        String letters = NON_WORD.matcher(TextAnalyzer.fold(mention)).replaceAll(" ");
+        StringBuilder name = new StringBuilder();
+        for (String word : letters.trim().split("\\s+")) {
+            if (word.length() < 2 || UNITS.contains(word) || DESCRIPTORS.contains(word)) continue;
+            if (name.length() > 0) name.append(' ');
+            name.append(singular(word));
+        }
+        return name.toString();
+    }
+
+    private static String singular(String word) {
+        if (word.length() <= 3) return word;
+        if (word.endsWith("ies")) return word.substring(0, word.length() - 3) + "y";
+        if (word.endsWith("oes") || word.endsWith("ches") || word.endsWith("shes")
+                || word.endsWith("sses") || word.endsWith("xes")) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
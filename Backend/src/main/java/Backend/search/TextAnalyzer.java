@@ -0,0 +1,62 @@
+package Backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Turns free text into index terms: folds case and accents, splits on anything that is not a letter or digit,
+// drops stop words and stems what is left
+public final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "if", "in", "into", "is",
+            "it", "its", "of", "on", "or", "so", "such", "that", "the", "their", "then", "there", "these",
+            "they", "this", "to", "was", "will", "with", "you", "your", "until", "over", "about");
+
+    private TextAnalyzer() {}
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) return terms;
+
+        PorterStemmer stemmer = new PorterStemmer();
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && isWordChar(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = folded.substring(start, i);
+                start = -1;
+                if (token.length() < 2 || STOP_WORDS.contains(token)) continue;
+                terms.add(stemmer.stem(token));
+            }
+        }
+        return terms;
+    }
+
+    // Lower-cases and strips diacritics so "Crème Brûlée" and "creme brulee" index the same
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) sb.append(c);
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    // Canonical form of a short label (category, cuisine) used for exact-match filters and facet keys
+    public static String normalizeKey(String label) {
+        if (label == null) return null;
+        String key = fold(label).trim().replaceAll("\\s+", " ");
+        return key.isEmpty() ? null : key;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || Character.isLetter(c);
+    }
+}
@@ -0,0 +1,292 @@
+package Backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix tree (path-compressed trie) over normalized keys for prefix completion. Every node caches the
+ * best-weighted entries in its subtree, so a lookup is a walk down the prefix and a copy of that node's list;
+ * it never visits the subtree. Puts and removes refresh the cached lists only along the affected paths.
+ *
+ * A document may be reachable under several keys (for example every word-start suffix of a title); the cached
+ * lists hold each document at most once.
+ */
+public class TitleTrie {
+
+    private static final Comparator<Entry> BEST = Comparator.comparingLong((Entry e) -> e.weight).reversed()
+            .thenComparing(e -> e.title)
+            .thenComparing(e -> e.id);
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final int maxResults;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    public TitleTrie(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    // Replaces any earlier keys for the id
+    public void put(String id, String title, List<String> keys, long weight) {
+        Entry entry = new Entry(id, title, weight, keys.toArray(new String[0]));
+        lock.writeLock().lock();
+        try {
+            Entry old = entries.get(id);
+            if (old != null && old.sameAs(entry)) return;
+            removeLocked(id);
+            if (entry.keys.length == 0) return;
+            entries.put(id, entry);
+            for (String key : entry.keys) {
+                insert(key, entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Best-weighted entries with a key starting with prefix; prefix must be normalized like the keys
+    public List<Entry> complete(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int pos = 0;
+            while (pos < prefix.length()) {
+                node = node.child(prefix.charAt(pos));
+                if (node == null) return List.of();
+                int common = commonPrefix(node.label, prefix, pos);
+                if (pos + common == prefix.length()) break; // prefix ends on or inside this edge
+                if (common < node.label.length()) return List.of();
+                pos += common;
+            }
+            Entry[] top = node.top;
+            return List.of(Arrays.copyOf(top, Math.min(limit, top.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int pos = 0;
+        while (pos < key.length()) {
+            Node child = node.child(key.charAt(pos));
+            if (child == null) {
+                child = new Node(key.substring(pos));
+                node.addChild(child);
+                node = child;
+                path.add(node);
+                pos = key.length();
+                break;
+            }
+            int common = commonPrefix(child.label, key, pos);
+            if (common < child.label.length()) {
+                child = split(node, child, common);
+            }
+            node = child;
+            path.add(node);
+            pos += common;
+        }
+        node.terminals = append(node.terminals, entry);
+        // An ancestor's list is the best of a superset, so once a node turns the entry away every ancestor would too
+        for (int i = path.size() - 1; i >= 0; i--) {
+            if (!path.get(i).offer(entry, maxResults)) break;
+        }
+    }
+
+    private void removeLocked(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) return;
+        for (String key : entry.keys) {
+            delete(key, id);
+        }
+    }
+
+    private void delete(String key, String id) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int pos = 0;
+        while (pos < key.length()) {
+            node = node.child(key.charAt(pos));
+            if (node == null || !key.startsWith(node.label, pos)) return;
+            path.add(node);
+            pos += node.label.length();
+        }
+        node.terminals = without(node.terminals, id);
+
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            Node parent = path.get(i - 1);
+            if (current.terminals.length == 0 && current.children.length == 0) {
+                parent.removeChild(current);
+            } else if (current.terminals.length == 0 && current.children.length == 1) {
+                // Keep the tree path-compressed: fold a pass-through node into its only child
+                Node only = current.children[0];
+                only.label = current.label + only.label;
+                parent.replaceChild(current, only);
+            } else {
+                current.recompute(maxResults);
+            }
+        }
+        root.recompute(maxResults);
+    }
+
+    private static Node split(Node parent, Node child, int at) {
+        Node middle = new Node(child.label.substring(0, at));
+        child.label = child.label.substring(at);
+        parent.replaceChild(child, middle);
+        middle.addChild(child);
+        middle.top = child.top;
+        return middle;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) i++;
+        return i;
+    }
+
+    private static Entry[] append(Entry[] list, Entry entry) {
+        Entry[] grown = Arrays.copyOf(list, list.length + 1);
+        grown[list.length] = entry;
+        return grown;
+    }
+
+    private static Entry[] without(Entry[] list, String id) {
+        int kept = 0;
+        Entry[] result = new Entry[list.length];
+        for (Entry e : list) {
+            if (!e.id.equals(id)) result[kept++] = e;
+        }
+        return kept == 0 ? NO_ENTRIES : Arrays.copyOf(result, kept);
+    }
+
+    private static final class Node {
+        String label;
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        Entry[] terminals = NO_ENTRIES;
+        Entry[] top = NO_ENTRIES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        void addChild(Node child) {
+            int i = -Arrays.binarySearch(keys, child.label.charAt(0)) - 1;
+            char[] k = new char[keys.length + 1];
+            Node[] c = new Node[children.length + 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(children, 0, c, 0, i);
+            k[i] = child.label.charAt(0);
+            c[i] = child;
+            System.arraycopy(keys, i, k, i + 1, keys.length - i);
+            System.arraycopy(children, i, c, i + 1, children.length - i);
+            keys = k;
+            children = c;
+        }
+
+        void removeChild(Node child) {
+            int i = Arrays.binarySearch(keys, child.label.charAt(0));
+            char[] k = new char[keys.length - 1];
+            Node[] c = new Node[children.length - 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(children, 0, c, 0, i);
+            System.arraycopy(keys, i + 1, k, i, keys.length - i - 1);
+            System.arraycopy(children, i + 1, c, i, children.length - i - 1);
+            keys = k;
+            children = c;
+        }
+
+        // The replacement starts with the same character, so the slot does not move
+        void replaceChild(Node old, Node replacement) {
+            children[Arrays.binarySearch(keys, replacement.label.charAt(0))] = replacement;
+        }
+
+        // Inserts the entry into the cached list if it ranks high enough; false when the list is unchanged
+        boolean offer(Entry entry, int maxResults) {
+            int at = 0;
+            while (at < top.length && BEST.compare(top[at], entry) < 0) at++;
+            if (at == maxResults) return false;
+            for (int i = at; i < top.length; i++) {
+                if (top[i] == entry) return false;
+            }
+            int length = Math.min(top.length + 1, maxResults);
+            Entry[] grown = new Entry[length];
+            System.arraycopy(top, 0, grown, 0, at);
+            grown[at] = entry;
+            System.arraycopy(top, at, grown, at + 1, length - at - 1);
+            top = grown;
+            return true;
+        }
+
+        // Merges this node's own entries with the children's cached lists, one slot per document
+        void recompute(int maxResults) {
+            List<Entry> candidates = new ArrayList<>(Arrays.asList(terminals));
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(BEST);
+            List<Entry> best = new ArrayList<>(Math.min(maxResults, candidates.size()));
+            for (Entry candidate : candidates) {
+                if (best.size() == maxResults) break;
+                if (!best.contains(candidate)) best.add(candidate);
+            }
+            top = best.toArray(NO_ENTRIES);
+        }
+    }
+
+    public static final class Entry {
+        private final String id;
+        private final String title;
+        private final long weight;
+        private final String[] keys;
+
+        Entry(String id, String title, long weight, String[] keys) {
+            this.id = id;
+            this.title = title;
+            this.weight = weight;
+            this.keys = keys;
+        }
+
+        boolean sameAs(Entry other) {
+            return title.equals(other.title) && weight == other.weight && Arrays.equals(keys, other.keys);
+        }
+
+        public String getId() { return id; }
+        public String getTitle() { return title; }
+        public long getWeight() { return weight; }
+    }
+}
@@ -0,0 +1,125 @@
+package Backend.service;
+
+import Backend.Model.CommentModel;
+import Backend.Repository.CommentRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// Moves comments that are still embedded in recipe documents into the recipeComments collection.
+// Safe to run repeatedly: comments keep their ids and are upserted, and a migrated recipe no longer matches.
+@Service
+public class CommentMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentMigrationService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final CommentRepository commentRepository;
+
+    @Autowired
+    public CommentMigrationService(MongoTemplate mongoTemplate, CommentRepository commentRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.commentRepository = commentRepository;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateEmbeddedComments() {
+        Query query = new Query(Criteria.where("comments.0").exists(true));
+        query.fields().include("_id").include("comments");
+
+        int migrated = 0;
+        try (Stream<Document> recipes = mongoTemplate.stream(query, Document.class, "recipes")) {
+            for (Document recipe : (Iterable<Document>) recipes::iterator) {
+                migrateRecipe(recipe);
+                migrated++;
+            }
+        } catch (Exception e) {
+            log.warn("Comment migration stopped after {} recipes: {}", migrated, e.getMessage());
+            return;
+        }
+        if (migrated > 0) {
+            log.info("Moved embedded comments of {} recipes into recipeComments", migrated);
+        }
+    }
+
+    // The helpful sort and its keyset cursor only reach comments that have the field, so fill it in where missing
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillHelpful() {
+        try {
+            long updated = mongoTemplate.updateMulti(new Query(Criteria.where("helpful").exists(false)),
+                    new Update().set("helpful", 0), CommentModel.class).getModifiedCount();
+            if (updated > 0) {
+                log.info("Set helpful to 0 on {} comments", updated);
+            }
+        } catch (Exception e) {
+            log.warn("Could not backfill comment helpful counts: {}", e.getMessage());
+        }
+    }
+
+    private void migrateRecipe(Document recipe) {
+        Object rawId = recipe.get("_id");
+        String recipeId = rawId.toString();
+        Date fallbackTime = rawId instanceof ObjectId ? ((ObjectId) rawId).getDate() : new Date();
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CommentModel.class);
+        List<Document> embedded = recipe.getList("comments", Document.class);
+        for (Document doc : embedded) {
+            CommentModel comment = toComment(doc, recipeId, fallbackTime);
+            ops.replaceOne(Query.query(Criteria.where("_id").is(comment.getId())), comment,
+                    FindAndReplaceOptions.options().upsert());
+        }
+        ops.execute();
+
+        long count = commentRepository.countByRecipeId(recipeId);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(rawId)),
+                new Update().unset("comments").set("commentCount", count).inc("version", 1), "recipes");
+    }
+
+    private static CommentModel toComment(Document doc, String recipeId, Date fallbackTime) {
+        CommentModel comment = new CommentModel();
+        String id = doc.getString("id");
+        comment.setId(id != null && !id.isEmpty() ? id : UUID.randomUUID().toString());
+        comment.setRecipeId(recipeId);
+        comment.setUser(doc.getString("user"));
+        comment.setText(doc.getString("text"));
+        comment.setAvatar(doc.getString("avatar"));
+        comment.setTime(doc.getString("time"));
+        comment.setCreatedAt(parseTime(doc.getString("time"), fallbackTime));
+
+        Object rating = doc.get("rating");
+        comment.setRating(rating instanceof Number ? ((Number) rating).doubleValue() : null);
+        Object helpful = doc.get("helpful");
+        comment.setHelpful(helpful instanceof Number ? ((Number) helpful).intValue() : 0);
+        return comment;
+    }
+
+    private static Date parseTime(String time, Date fallback) {
+        if (time == null || time.isEmpty()) return fallback;
+        try {
+            return Date.from(Instant.parse(time));
+        } catch (DateTimeParseException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package Backend.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// The single path every image response goes through: validators, conditional requests, byte ranges and
+// cache headers, with the body sent by Tomcat's sendfile or FileChannel.transferTo instead of a copy loop.
+// Small, frequently requested files are kept in a size-bounded LRU so they skip the filesystem entirely.
+@Service
+public class ImageServingService {
+
+    public static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    public static final String SHORT_LIVED = "public, max-age=300";
+    public static final String REVALIDATE = "no-cache";
+
+    private static final Pattern CONTENT_FILE = Pattern.compile("([0-9a-f]{64}(?:_w\\d+)?)\\.\\w+");
+    private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final long maxEntryBytes;
+    private final HotCache hotCache;
+
+    public ImageServingService(@Value("${images.cache.max-bytes:16777216}") long maxBytes,
+                               @Value("${images.cache.max-entry-bytes:262144}") long maxEntryBytes) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.hotCache = new HotCache(maxBytes);
+    }
+
+    public void serve(Path file, String cacheControl, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (file == null || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = etag(file, length, lastModified);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeApplies(request, etag)) {
+            Matcher m = SINGLE_RANGE.matcher(range.trim());
+            if (m.matches() && !(m.group(1).isEmpty() && m.group(2).isEmpty())) {
+                if (m.group(1).isEmpty()) {
+                    // Suffix range: the last n bytes
+                    start = Math.max(0, length - Long.parseLong(m.group(2)));
+                } else {
+                    start = Long.parseLong(m.group(1));
+                    if (!m.group(2).isEmpty()) end = Math.min(end, Long.parseLong(m.group(2)));
+                }
+                if (start > end || start >= length) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+            // Multiple or malformed ranges fall through to the full body, which RFC 9110 allows
+        }
+
+        long count = end - start + 1;
+        response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        byte[] cached = length <= maxEntryBytes ? hotCache.get(file, lastModified) : null;
+        if (cached == null && length <= maxEntryBytes) {
+            cached = Files.readAllBytes(file);
+            hotCache.put(file, lastModified, cached);
+        }
+        if (cached != null) {
+            response.getOutputStream().write(cached, (int) start, (int) count);
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat streams the file with sendfile once this request returns
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) break;
+                position += sent;
+                remaining -= sent;
+            }
+        }
+        out.flush();
+    }
+
+    // Content-addressed files are named after their hash, which is already a strong validator
+    private static String etag(Path file, long length, long lastModified) {
+        Matcher m = CONTENT_FILE.matcher(file.getFileName().toString());
+        if (m.matches()) {
+            return "\"" + m.group(1) + "\"";
+        }
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // Weak comparison, as required for If-None-Match
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) tag = tag.substring(2);
+                if (tag.equals("*") || tag.equals(etag)) return true;
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    // If-Range: only honour the range while the client's copy is still current
+    private static boolean rangeApplies(HttpServletRequest request, String etag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.trim().equals(etag);
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    // LRU over whole small files, bounded by total bytes; entries are dropped when the file changes
+    private static final class HotCache {
+        private final long maxBytes;
+        private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+        private long bytes;
+
+        HotCache(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized byte[] get(Path file, long lastModified) {
+            Entry entry = entries.get(file);
+            if (entry == null) return null;
+            if (entry.lastModified != lastModified) {
+                entries.remove(file);
+                bytes -= entry.data.length;
+                return null;
+            }
+            return entry.data;
+        }
+
+        synchronized void put(Path file, long lastModified, byte[] data) {
+            if (data.length > maxBytes) return;
+            Entry previous = entries.put(file, new Entry(data, lastModified));
+            if (previous != null) bytes -= previous.data.length;
+            bytes += data.length;
+            var it = entries.entrySet().iterator();
+            while (bytes > maxBytes && it.hasNext()) {
+                Map.Entry<Path, Entry> eldest = it.next();
+                bytes -= eldest.getValue().data.length;
+                it.remove();
+            }
+        }
+
+        private static final class Entry {
+            final byte[] data;
+            final long lastModified;
+
+            Entry(byte[] data, long lastModified) {
+                this.data = data;
+                this.lastModified = lastModified;
+            }
+        }
+    }
+}
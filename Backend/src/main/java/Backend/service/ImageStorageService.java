@@ -0,0 +1,330 @@
+package Backend.service;
+
+import Backend.Model.ImageBlob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+// Content-addressed image store shared by recipe and challenge uploads.
+// Each distinct image is written once under blobs/ab/cd/<sha256>.<ext>; its key never changes, so URLs built
+// from it can be cached forever. Recipes and challenges take a reference when they start pointing at a key
+// and drop it when they stop; the blob is deleted when the last reference goes.
+// Files are removed on a background thread so deletes never wait on the disk; UploadJanitorService sweeps up
+// anything that slips through (unreferenced uploads, leaked references, stale temp files).
+@Service
+public class ImageStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageStorageService.class);
+
+    private static final Pattern CONTENT_KEY = Pattern.compile("[0-9a-f]{64}\\.(jpg|png|gif|webp)");
+    public static final String IMAGE_URL_PREFIX = "/images/";
+    private static final String LEGACY_URL_PREFIX = "/uploads/";
+
+    private final MongoTemplate mongoTemplate;
+    private final ImageVariantService imageVariantService;
+    private final Path root;
+    private final Path blobDir;
+    private final Path tmpDir;
+
+    // Striped locks so storing and deleting the same blob never interleave within this instance
+    private final Object[] locks = new Object[64];
+    private final ExecutorService deleter = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "image-deleter");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Autowired
+    public ImageStorageService(MongoTemplate mongoTemplate, ImageVariantService imageVariantService,
+                               @Value("${uploads.dir:src/main/uploads}") String uploadsDir) {
+        this.mongoTemplate = mongoTemplate;
+        this.imageVariantService = imageVariantService;
+        this.root = Paths.get(uploadsDir).toAbsolutePath().normalize();
+        this.blobDir = root.resolve("blobs");
+        this.tmpDir = root.resolve("tmp");
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    // Pending deletions are dropped on shutdown; the janitor finds those files on its next run
+    @PreDestroy
+    public void shutdown() {
+        deleter.shutdown();
+    }
+
+    public static boolean isContentKey(String key) {
+        return key != null && CONTENT_KEY.matcher(key).matches();
+    }
+
+    // Storage key behind a stored reference: recipes keep the bare key, challenges a /images/ or /uploads/ URL
+    public static String keyFromUrl(String url) {
+        if (url == null) return null;
+        if (url.startsWith(IMAGE_URL_PREFIX)) return url.substring(IMAGE_URL_PREFIX.length());
+        if (url.startsWith(LEGACY_URL_PREFIX)) return url.substring(LEGACY_URL_PREFIX.length());
+        return url;
+    }
+
+    // Every form in which a key can appear in a recipe's mediaUrl or a challenge's imageUrl
+    public static List<String> referenceForms(String key) {
+        return List.of(key, IMAGE_URL_PREFIX + key, LEGACY_URL_PREFIX + key);
+    }
+
+    // Streams the upload to a temp file while hashing it, then files it under its content key.
+    // The blob starts unreferenced; callers acquire it once a recipe or challenge points at it.
+    public String store(MultipartFile file) throws IOException {
+        Files.createDirectories(tmpDir);
+        Path tmp = Files.createTempFile(tmpDir, "upload", ".part");
+        try {
+            MessageDigest digest = sha256();
+            byte[] head = new byte[12];
+            int headLength = 0;
+            long size = 0;
+            try (InputStream in = file.getInputStream(); OutputStream out = Files.newOutputStream(tmp)) {
+                byte[] buffer = new byte[64 * 1024];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    if (headLength < head.length) {
+                        int take = Math.min(n, head.length - headLength);
+                        System.arraycopy(buffer, 0, head, headLength, take);
+                        headLength += take;
+                    }
+                    digest.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                    size += n;
+                }
+            }
+
+            String extension = sniffExtension(head, headLength);
+            if (extension == null) {
+                throw new IllegalArgumentException("Only JPEG, PNG, GIF and WebP images can be uploaded");
+            }
+            String key = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+
+            Path target = pathFor(key);
+            boolean created = false;
+            synchronized (lockFor(key)) {
+                Date now = new Date();
+                // Same bytes uploaded before: keep the existing blob and drop the temp copy. It counts as freshly
+                // stored, so the janitor's grace period covers it until the caller acquires it.
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                    created = true;
+                } else {
+                    Files.setLastModifiedTime(target, FileTime.fromMillis(now.getTime()));
+                }
+                mongoTemplate.upsert(new Query(Criteria.where("_id").is(key)), new Update()
+                        .setOnInsert("size", size)
+                        .setOnInsert("contentType", contentType(extension))
+                        .setOnInsert("refCount", 0)
+                        .setOnInsert("createdAt", now)
+                        .set("lastStoredAt", now), ImageBlob.class);
+            }
+            // Outside the lock: with a full queue the executor runs the resize on this thread
+            if (created) {
+                imageVariantService.schedule(target);
+            }
+            return key;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Records one more reference to the blob. Keys that are not content keys (legacy file names) are ignored.
+    public void acquire(String key) {
+        if (!isContentKey(key)) return;
+        long matched = mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(key)),
+                new Update().inc("refCount", 1), ImageBlob.class).getMatchedCount();
+        if (matched == 0) {
+            throw new IllegalArgumentException("Unknown image: " + key);
+        }
+    }
+
+    // Drops one reference; the blob and its file go away with the last one.
+    // Legacy flat files under the upload root are deleted directly, as before.
+    public void release(String key) {
+        if (key == null || key.isEmpty()) return;
+        if (!isContentKey(key)) {
+            deleteLegacy(key);
+            return;
+        }
+        synchronized (lockFor(key)) {
+            ImageBlob blob = mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(key)),
+                    new Update().inc("refCount", -1),
+                    FindAndModifyOptions.options().returnNew(true), ImageBlob.class);
+            if (blob == null || blob.getRefCount() > 0) return;
+
+            // Only remove the record if nobody re-acquired it in the meantime
+            if (mongoTemplate.findAndRemove(new Query(Criteria.where("_id").is(key).and("refCount").lte(0)),
+                    ImageBlob.class) != null) {
+                deleter.execute(() -> deleteBlobFilesIfUnrecorded(key));
+            }
+        }
+    }
+
+    // Janitor path for a blob that nothing references. expectedRefCount is the count the caller saw, or null if
+    // there was no record; the record is only removed if it is unchanged and was last stored before storedBefore,
+    // so a concurrent acquire or a fresh upload of the same bytes wins.
+    // Returns the bytes freed, or -1 if the blob was kept.
+    public long reclaim(String key, Integer expectedRefCount, Date storedBefore) {
+        synchronized (lockFor(key)) {
+            Query query = new Query(Criteria.where("_id").is(key));
+            if (expectedRefCount == null) {
+                if (mongoTemplate.exists(query, ImageBlob.class)) return -1;
+            } else if (mongoTemplate.findAndRemove(query.addCriteria(Criteria.where("refCount").is(expectedRefCount))
+                    .addCriteria(new Criteria().orOperator(
+                            Criteria.where("lastStoredAt").lt(storedBefore),
+                            Criteria.where("lastStoredAt").exists(false))),
+                    ImageBlob.class) == null) {
+                return -1;
+            }
+            return deleteBlobFiles(key);
+        }
+    }
+
+    // Janitor path for a legacy file; returns the bytes freed
+    public long reclaimLegacy(String key) throws IOException {
+        Path legacy = resolve(key);
+        if (legacy == null || !Files.isRegularFile(legacy)) return 0;
+        long size = Files.size(legacy);
+        return Files.deleteIfExists(legacy) ? size : 0;
+    }
+
+    public Path uploadRoot() {
+        return root;
+    }
+
+    public Path blobRoot() {
+        return blobDir;
+    }
+
+    public Path tmpRoot() {
+        return tmpDir;
+    }
+
+    // Moves a holder from one key to another, taking the new reference before dropping the old one
+    public void replace(String oldKey, String newKey) {
+        if (newKey != null && newKey.equals(oldKey)) return;
+        if (newKey != null && !newKey.isEmpty()) acquire(newKey);
+        release(oldKey);
+    }
+
+    // File behind a key: the sharded blob for content keys, otherwise a legacy file under the upload root.
+    // Returns null for keys that would escape the upload directory.
+    public Path resolve(String key) {
+        if (isContentKey(key)) return pathFor(key);
+        Path legacy = root.resolve(key).normalize();
+        return legacy.startsWith(root) && !legacy.startsWith(blobDir) ? legacy : null;
+    }
+
+    // Like resolve, but for content keys with a requested width picks the closest ready variant
+    public Path resolve(String key, Integer width) {
+        Path file = resolve(key);
+        if (file == null || width == null || width <= 0 || !isContentKey(key)) return file;
+        return imageVariantService.pick(file, width);
+    }
+
+    private Path pathFor(String key) {
+        return blobDir.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private void deleteLegacy(String key) {
+        Path legacy = resolve(key);
+        if (legacy == null) return;
+        deleter.execute(() -> {
+            try {
+                Files.deleteIfExists(legacy);
+            } catch (IOException e) {
+                log.warn("Could not delete image {}: {}", key, e.getMessage());
+            }
+        });
+    }
+
+    // Runs on the deleter thread; the same bytes may have been stored again since the record was removed
+    private void deleteBlobFilesIfUnrecorded(String key) {
+        synchronized (lockFor(key)) {
+            if (mongoTemplate.exists(new Query(Criteria.where("_id").is(key)), ImageBlob.class)) return;
+            deleteBlobFiles(key);
+        }
+    }
+
+    // Callers hold the key's lock
+    private long deleteBlobFiles(String key) {
+        Path file = pathFor(key);
+        try {
+            long size = Files.exists(file) ? Files.size(file) : 0;
+            size += imageVariantService.deleteVariants(file);
+            Files.deleteIfExists(file);
+            return size;
+        } catch (IOException e) {
+            log.warn("Could not delete image blob {}: {}", key, e.getMessage());
+            return 0;
+        }
+    }
+
+    private Object lockFor(String key) {
+        return locks[Math.floorMod(key.hashCode(), locks.length)];
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Extension from the file's magic bytes, so the same content always maps to the same key
+    private static String sniffExtension(byte[] head, int length) {
+        if (length >= 3 && (head[0] & 0xff) == 0xff && (head[1] & 0xff) == 0xd8 && (head[2] & 0xff) == 0xff) {
+            return "jpg";
+        }
+        if (length >= 8 && (head[0] & 0xff) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return "png";
+        }
+        if (length >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8') {
+            return "gif";
+        }
+        if (length >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "webp";
+        }
+        return null;
+    }
+
+    private static String contentType(String extension) {
+        switch (extension) {
+            case "jpg": return "image/jpeg";
+            case "png": return "image/png";
+            case "gif": return "image/gif";
+            default: return "image/webp";
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package Backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Downscaled copies of stored images, written next to the original as <name>_w<width>.<ext>.
+// Generation runs on a small bounded pool; when its queue is full the uploading thread does the work itself,
+// which slows uploads down instead of letting the backlog grow without limit.
+@Service
+public class ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    // Ascending; only widths smaller than the original are produced
+    public static final int[] WIDTHS = {200, 600, 1200};
+
+    // Refuse to decode anything larger than this many pixels
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private final ThreadPoolExecutor executor;
+    private final Set<Path> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ImageVariantService(@Value("${images.variants.threads:2}") int threads,
+                               @Value("${images.variants.queue-capacity:100}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "image-variants-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public static boolean supports(Path original) {
+        String name = original.getFileName().toString();
+        return name.endsWith(".jpg") || name.endsWith(".png");
+    }
+
+    // Queues variant generation for a newly stored image; repeated calls for the same file are ignored
+    public void schedule(Path original) {
+        if (!supports(original) || !inFlight.add(original)) return;
+        executor.execute(() -> {
+            try {
+                generate(original);
+            } catch (Exception e) {
+                log.warn("Could not create variants of {}: {}", original.getFileName(), e.getMessage());
+            } finally {
+                inFlight.remove(original);
+            }
+        });
+    }
+
+    // The variant width a request for this width should end up with, or null when only the original fits
+    public static Integer bestWidthFor(int width) {
+        for (int w : WIDTHS) {
+            if (w >= width) return w;
+        }
+        return null;
+    }
+
+    // Smallest ready variant at least as wide as requested, otherwise the original
+    public Path pick(Path original, int width) {
+        if (!supports(original)) return original;
+        for (int w : WIDTHS) {
+            if (w < width) continue;
+            Path variant = variantPath(original, w);
+            if (Files.isRegularFile(variant)) return variant;
+        }
+        return original;
+    }
+
+    // Returns the number of bytes freed
+    public long deleteVariants(Path original) {
+        Path dir = original.getParent();
+        if (dir == null || !Files.isDirectory(dir)) return 0;
+        long freed = 0;
+        try (DirectoryStream<Path> variants = Files.newDirectoryStream(dir, baseName(original) + "_w*")) {
+            for (Path variant : variants) {
+                long size = Files.size(variant);
+                if (Files.deleteIfExists(variant)) freed += size;
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete variants of {}: {}", original.getFileName(), e.getMessage());
+        }
+        return freed;
+    }
+
+    public static Path variantPath(Path original, int width) {
+        return original.resolveSibling(baseName(original) + "_w" + width + "." + extension(original));
+    }
+
+    private void generate(Path original) throws IOException {
+        if (!Files.isRegularFile(original) || tooLarge(original)) return;
+        BufferedImage image = ImageIO.read(original.toFile());
+        if (image == null) return;
+
+        String format = extension(original).equals("png") ? "png" : "jpg";
+        // Largest first, each one scaled from the previous, so the original is decoded only once
+        BufferedImage[] scaled = new BufferedImage[WIDTHS.length];
+        BufferedImage source = image;
+        for (int i = WIDTHS.length - 1; i >= 0; i--) {
+            if (WIDTHS[i] >= image.getWidth()) continue;
+            scaled[i] = scale(source, WIDTHS[i], format.equals("png"));
+            source = scaled[i];
+        }
+        // Published smallest first: pick() serves the smallest ready variant, so a larger one must never
+        // exist while a smaller requested width is still missing
+        for (int i = 0; i < WIDTHS.length; i++) {
+            Path target = variantPath(original, WIDTHS[i]);
+            if (scaled[i] != null && !Files.exists(target)) {
+                write(scaled[i], format, target);
+            }
+        }
+    }
+
+    private static boolean tooLarge(Path original) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            if (in == null) return true;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return true;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in);
+                return (long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halves repeatedly before the last step; a single large bilinear step drops too much detail
+    private static BufferedImage scale(BufferedImage source, int width, boolean alpha) {
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(targetHeight, h / 2);
+            BufferedImage next = new BufferedImage(w, h, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != width);
+        return current;
+    }
+
+    // Written to a temp file first so readers never see a half-written variant
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), "variant", ".part");
+        try {
+            if (!ImageIO.write(image, format, tmp.toFile())) {
+                throw new IOException("No ImageIO writer for " + format);
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static String baseName(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    private static String extension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1);
+    }
+}
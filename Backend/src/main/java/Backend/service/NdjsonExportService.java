@@ -0,0 +1,132 @@
+package Backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+// Streams a collection as newline-delimited JSON straight off a Mongo cursor. Only one cursor batch and
+// one serialized document are held at a time, so heap use does not depend on collection size.
+@Service
+public class NdjsonExportService {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectWriter writer;
+    private final int cursorBatchSize;
+    private final long requestTimeoutMs;
+
+    @Autowired
+    public NdjsonExportService(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                               @Value("${export.cursor-batch-size:500}") int cursorBatchSize,
+                               @Value("${export.request-timeout-ms:1800000}") long requestTimeoutMs) {
+        this.mongoTemplate = mongoTemplate;
+        // One document per line, written into a shared buffer that stays open and is flushed only at the end
+        this.writer = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.cursorBatchSize = cursorBatchSize;
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    // filters may contain nulls for omitted parameters; since matches documents created at or after that instant
+    public <T> ResponseEntity<StreamingResponseBody> export(String name, Class<T> type, List<Criteria> filters,
+                                                            Date since, boolean gzip) {
+        List<Criteria> clauses = new ArrayList<>();
+        for (Criteria filter : filters) {
+            if (filter != null) clauses.add(filter);
+        }
+        if (since != null) {
+            // ObjectIds lead with their creation second, so this works for every collection and uses the _id index
+            clauses.add(Criteria.where("_id").gte(lowestObjectId(since)));
+        }
+        Query query = clauses.isEmpty() ? new Query() : new Query(new Criteria().andOperator(clauses));
+        query.with(Sort.by(Sort.Direction.ASC, "_id")).cursorBatchSize(cursorBatchSize);
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            OutputStream buffered = new BufferedOutputStream(target, 64 * 1024);
+            try (Stream<T> documents = mongoTemplate.stream(query, type)) {
+                for (T document : (Iterable<T>) documents::iterator) {
+                    writer.writeValue(buffered, document);
+                    buffered.write('\n');
+                }
+            }
+            buffered.flush();
+            if (target instanceof GZIPOutputStream gzipStream) gzipStream.finish();
+        };
+
+        extendAsyncTimeout();
+
+        String filename = name + (gzip ? ".ndjson.gz" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    // Long exports outlive the default async timeout. The streaming body is started with whatever timeout the
+    // current request carries, so raising it here affects only this response.
+    private void extendAsyncTimeout() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servlet)) return;
+        AsyncWebRequest asyncRequest = WebAsyncUtils.getAsyncManager(servlet.getRequest()).getAsyncWebRequest();
+        if (asyncRequest != null) {
+            asyncRequest.setTimeout(requestTimeoutMs);
+        }
+    }
+
+    // Smallest ObjectId of that second; new ObjectId(Date) fills the other 8 bytes with process and counter
+    // values, which would drop documents created earlier in the same second
+    private static ObjectId lowestObjectId(Date since) {
+        long seconds = Math.floorDiv(since.getTime(), 1000);
+        return new ObjectId(String.format("%08x", seconds) + "0000000000000000");
+    }
+
+    // Accepts an ISO-8601 instant (2024-05-01T10:00:00Z) or a plain date, taken as midnight UTC
+    public static Date parseSince(String since) {
+        if (since == null || since.isBlank()) return null;
+        try {
+            return Date.from(Instant.parse(since));
+        } catch (DateTimeParseException ignored) {
+            // fall through to the date-only form
+        }
+        try {
+            return Date.from(LocalDate.parse(since).atStartOfDay(ZoneOffset.UTC).toInstant());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("since must be an ISO-8601 date or instant");
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package Backend.service;
+
+import Backend.Model.RecipeModel;
+import Backend.search.IngredientParser;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "What can I cook" index. Every normalized ingredient name maps to a compressed bitmap of the recipes that use it,
+ * and every recipe keeps a bitmap of its ingredient ids. A pantry query ORs the postings of the pantry's
+ * ingredients to get candidates, then ranks each candidate by popcount(recipe AND NOT pantry), i.e. how many
+ * ingredients are missing.
+ */
+@Service
+public class PantrySearchService implements RecipeIndexer {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> ingredientIds = new HashMap<>();
+    private final List<String> ingredientNames = new ArrayList<>();
+    private final List<RoaringBitmap> recipesByIngredient = new ArrayList<>();
+
+    private final Map<String, Integer> ordinalById = new HashMap<>();
+    private final List<String> idByOrdinal = new ArrayList<>();
+    private final List<RoaringBitmap> ingredientsByOrdinal = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+    @Override
+    public void index(RecipeModel recipe) {
+        List<String> names = recipe.getIngredientNames() != null && !recipe.getIngredientNames().isEmpty()
+                ? recipe.getIngredientNames()
+                : IngredientParser.parse(recipe.getIngredients());
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(recipe.getId());
+            if (names.isEmpty()) return;
+
+            int ordinal = freeOrdinals.isEmpty() ? idByOrdinal.size() : freeOrdinals.pop();
+            RoaringBitmap ingredients = new RoaringBitmap();
+            for (String name : names) {
+                int ingredientId = ingredientIds.computeIfAbsent(name, n -> {
+                    ingredientNames.add(n);
+                    recipesByIngredient.add(new RoaringBitmap());
+                    return ingredientNames.size() - 1;
+                });
+                ingredients.add(ingredientId);
+                recipesByIngredient.get(ingredientId).add(ordinal);
+            }
+            ingredients.runOptimize();
+
+            if (ordinal == idByOrdinal.size()) {
+                idByOrdinal.add(recipe.getId());
+                ingredientsByOrdinal.add(ingredients);
+            } else {
+                idByOrdinal.set(ordinal, recipe.getId());
+                ingredientsByOrdinal.set(ordinal, ingredients);
+            }
+            ordinalById.put(recipe.getId(), ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Recipes that use at least one pantry ingredient, fewest missing ingredients first
+    public List<Match> match(List<String> pantry, int maxMissing, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap pantryBits = new RoaringBitmap();
+            List<RoaringBitmap> postings = new ArrayList<>();
+            for (String item : pantry) {
+                Integer ingredientId = ingredientIds.get(IngredientParser.normalize(item));
+                if (ingredientId != null && !pantryBits.contains(ingredientId)) {
+                    pantryBits.add(ingredientId);
+                    postings.add(recipesByIngredient.get(ingredientId));
+                }
+            }
+            if (postings.isEmpty()) return List.of();
+
+            Comparator<Match> best = Comparator.comparingInt(Match::getMissingCount)
+                    .thenComparing(Comparator.comparingInt(Match::getMatchedCount).reversed());
+            PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, best.reversed());
+
+            RoaringBitmap candidates = FastAggregation.or(postings.iterator());
+            PeekableIntIterator it = candidates.getIntIterator();
+            while (it.hasNext()) {
+                int ordinal = it.next();
+                RoaringBitmap ingredients = ingredientsByOrdinal.get(ordinal);
+                int matched = RoaringBitmap.andCardinality(ingredients, pantryBits);
+                int missing = ingredients.getCardinality() - matched;
+                if (missing > maxMissing) continue;
+
+                Match candidate = new Match(idByOrdinal.get(ordinal), matched, missing, null);
+                if (top.size() < limit) {
+                    top.add(candidate);
+                } else if (best.compare(candidate, top.peek()) < 0) {
+                    top.poll();
+                    top.add(candidate);
+                }
+            }
+
+            List<Match> matches = new ArrayList<>(top.size());
+            for (Match m : top) {
+                // Names are only resolved for the handful of recipes that made the cut
+                RoaringBitmap missingBits = RoaringBitmap.andNot(ingredientsByOrdinal.get(ordinalById.get(m.getRecipeId())), pantryBits);
+                List<String> missingNames = new ArrayList<>(missingBits.getCardinality());
+                missingBits.forEach((int id) -> missingNames.add(ingredientNames.get(id)));
+                matches.add(new Match(m.getRecipeId(), m.getMatchedCount(), m.getMissingCount(), missingNames));
+            }
+            matches.sort(best);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(String recipeId) {
+        Integer ordinal = ordinalById.remove(recipeId);
+        if (ordinal == null) return;
+        RoaringBitmap ingredients = ingredientsByOrdinal.get(ordinal);
+        ingredients.forEach((int ingredientId) -> recipesByIngredient.get(ingredientId).remove(ordinal));
+        idByOrdinal.set(ordinal, null);
+        ingredientsByOrdinal.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+    }
+
+    public static final class Match {
+        private final String recipeId;
+        private final int matchedCount;
+        private final int missingCount;
+        private final List<String> missingIngredients;
+
+        Match(String recipeId, int matchedCount, int missingCount, List<String> missingIngredients) {
+            this.recipeId = recipeId;
+            this.matchedCount = matchedCount;
+            this.missingCount = missingCount;
+            this.missingIngredients = missingIngredients;
+        }
+
+        public String getRecipeId() { return recipeId; }
+        public int getMatchedCount() { return matchedCount; }
+        public int getMissingCount() { return missingCount; }
+        public List<String> getMissingIngredients() { return missingIngredients; }
+    }
+}
@@ -0,0 +1,118 @@
+package Backend.service;
+
+import Backend.Model.RatingPrior;
+import Backend.Model.RecipeModel;
+import Backend.Repository.RecipeRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+
+// Holds the prior used for Bayesian recipe scores: m is the mean of all ratings and C the average number of
+// ratings per rated recipe. Rating writes read the in-memory value; a background job recomputes it and, only when
+// it has moved noticeably, rescores every rated recipe so all scores stay comparable.
+@Service
+public class RatingPriorService {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingPriorService.class);
+
+    // Smaller shifts are not worth rewriting every rated recipe for
+    private static final double MEAN_TOLERANCE = 0.01;
+    private static final double WEIGHT_TOLERANCE = 0.05;
+
+    private final MongoTemplate mongoTemplate;
+    private final RecipeRepository recipeRepository;
+    private final RecipeCacheService recipeCacheService;
+    private final double minWeight;
+
+    private volatile RatingPrior current;
+    // Prior every rated recipe was last scored with; null while a rescore is pending or has failed
+    private RatingPrior applied;
+
+    @Autowired
+    public RatingPriorService(MongoTemplate mongoTemplate, RecipeRepository recipeRepository,
+                              RecipeCacheService recipeCacheService,
+                              @Value("${ratings.prior.default-mean:3.5}") double defaultMean,
+                              @Value("${ratings.prior.min-weight:5}") double minWeight) {
+        this.mongoTemplate = mongoTemplate;
+        this.recipeRepository = recipeRepository;
+        this.recipeCacheService = recipeCacheService;
+        this.minWeight = minWeight;
+        this.current = new RatingPrior(defaultMean, minWeight, null);
+    }
+
+    public RatingPrior current() {
+        return current;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            RatingPrior stored = mongoTemplate.findById(RatingPrior.GLOBAL, RatingPrior.class);
+            if (stored != null) {
+                current = stored;
+                applied = stored;
+            }
+        } catch (Exception e) {
+            log.warn("Could not load rating prior: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ratings.prior.refresh-interval-ms:3600000}",
+            initialDelayString = "${ratings.prior.initial-delay-ms:60000}")
+    public void recompute() {
+        try {
+            Document totals = mongoTemplate.aggregate(Aggregation.newAggregation(RecipeModel.class,
+                    Aggregation.match(Criteria.where("ratingCount").gt(0)),
+                    Aggregation.group()
+                            .sum(ConditionalOperators.ifNull("ratingSum").then(
+                                    ArithmeticOperators.Multiply.valueOf("averageRating").multiplyBy("ratingCount")))
+                            .as("sum")
+                            .sum("ratingCount").as("count")
+                            .count().as("recipes")), Document.class).getUniqueMappedResult();
+            if (totals == null) return;
+
+            double sum = ((Number) totals.get("sum")).doubleValue();
+            double count = ((Number) totals.get("count")).doubleValue();
+            double recipes = ((Number) totals.get("recipes")).doubleValue();
+            RatingPrior next = new RatingPrior(sum / count, Math.max(minWeight, count / recipes), new Date());
+
+            RatingPrior previous = applied;
+            boolean moved = previous == null || previous.getComputedAt() == null
+                    || Math.abs(next.getMean() - previous.getMean()) > MEAN_TOLERANCE
+                    || Math.abs(next.getWeight() - previous.getWeight()) > WEIGHT_TOLERANCE * previous.getWeight();
+            if (!moved) return;
+
+            // Rating writes pick up the new prior straight away; it only counts as applied, and is only stored,
+            // once every recipe has been rescored, so a failed rescore is retried on the next run
+            current = next;
+            applied = null;
+            long rescored;
+            try {
+                rescored = recipeRepository.rescoreAll(next);
+            } finally {
+                // Even a rescore that failed part way has rewritten some recipes
+                recipeCacheService.invalidateAll();
+            }
+            mongoTemplate.save(next);
+            applied = next;
+            log.info("Rating prior is now m={} C={}; rescored {} recipes", next.getMean(), next.getWeight(), rescored);
+        } catch (Exception e) {
+            log.warn("Could not recompute rating prior: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package Backend.service;
+
+import Backend.Model.RecipeModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Brings recipes written before the current derived-field rules up to date, touching only the derived fields.
+// Recipes written before versioning are picked up too; the version $inc gives them one.
+// Each update only applies to the version that was read, so a concurrent edit is never overwritten with
+// derived fields computed from the old text; such a recipe is skipped and caught up on the next start.
+@Service
+public class RecipeBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeBackfillService.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final RecipeCacheService recipeCacheService;
+
+    @Autowired
+    public RecipeBackfillService(MongoTemplate mongoTemplate, RecipeCacheService recipeCacheService) {
+        this.mongoTemplate = mongoTemplate;
+        this.recipeCacheService = recipeCacheService;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillDerivedFields() {
+        Query stale = new Query(new Criteria().orOperator(
+                Criteria.where("derivedFieldsVersion").exists(false),
+                Criteria.where("derivedFieldsVersion").lt(RecipeDerivedFieldsListener.DERIVED_FIELDS_VERSION),
+                Criteria.where("version").exists(false)));
+
+        int updated = 0;
+        int skipped = 0;
+        BulkOperations batch = null;
+        List<String> ids = new ArrayList<>();
+        try (Stream<RecipeModel> recipes = mongoTemplate.stream(stale, RecipeModel.class)) {
+            for (RecipeModel recipe : (Iterable<RecipeModel>) recipes::iterator) {
+                RecipeDerivedFieldsListener.applyTo(recipe);
+                if (batch == null) batch = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RecipeModel.class);
+                batch.updateOne(sameVersion(recipe), derivedFieldsUpdate(recipe));
+                ids.add(recipe.getId());
+                if (ids.size() == BATCH_SIZE) {
+                    int matched = execute(batch, ids);
+                    updated += matched;
+                    skipped += BATCH_SIZE - matched;
+                    batch = null;
+                    ids.clear();
+                }
+            }
+            if (batch != null) {
+                int matched = execute(batch, ids);
+                updated += matched;
+                skipped += ids.size() - matched;
+            }
+        } catch (Exception e) {
+            log.warn("Derived field backfill stopped after {} recipes: {}", updated, e.getMessage());
+            return;
+        }
+        if (updated > 0 || skipped > 0) {
+            log.info("Backfilled derived fields of {} recipes, skipped {} changed meanwhile", updated, skipped);
+        }
+    }
+
+    private static Query sameVersion(RecipeModel recipe) {
+        Criteria version = recipe.getVersion() == null
+                ? Criteria.where("version").exists(false)
+                : Criteria.where("version").is(recipe.getVersion());
+        return Query.query(Criteria.where("_id").is(recipe.getId())).addCriteria(version);
+    }
+
+    // The version bump changes the ETag, so cached copies of these recipes must go
+    private int execute(BulkOperations batch, List<String> ids) {
+        int matched = batch.execute().getMatchedCount();
+        ids.forEach(recipeCacheService::invalidate);
+        return matched;
+    }
+
+    public static Update derivedFieldsUpdate(RecipeModel recipe) {
+        return new Update()
+                .set("ingredientNames", recipe.getIngredientNames())
+                .set("categoryKey", recipe.getCategoryKey())
+                .set("cuisineKey", recipe.getCuisineKey())
+                .set("cookingTimeMinutes", recipe.getCookingTimeMinutes())
+                .set("cookingTimeBucket", recipe.getCookingTimeBucket())
+                .set("derivedFieldsVersion", recipe.getDerivedFieldsVersion())
+                .inc("version", 1);
+    }
+}
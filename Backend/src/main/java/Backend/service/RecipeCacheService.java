@@ -0,0 +1,96 @@
+package Backend.service;
+
+import Backend.DTO.CacheStats;
+import Backend.Model.RecipeModel;
+import Backend.Repository.RecipeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Read-through cache of full recipe documents in front of RecipeRepository.findById.
+// Caffeine's W-TinyLFU policy keeps frequently read recipes resident under churn, and concurrent misses on
+// the same id share one Mongo load. Every write path that changes a recipe document calls invalidate;
+// the TTL only bounds staleness from writes made outside this process. Ids RecipeExistenceService knows to be
+// missing are answered without a load.
+@Service
+public class RecipeCacheService {
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeExistenceService recipeExistenceService;
+    private final Cache<String, RecipeModel> cache;
+
+    @Autowired
+    public RecipeCacheService(RecipeRepository recipeRepository,
+                              RecipeExistenceService recipeExistenceService,
+                              @Value("${recipes.cache.max-size:10000}") long maxSize,
+                              @Value("${recipes.cache.ttl-minutes:10}") long ttlMinutes) {
+        this.recipeRepository = recipeRepository;
+        this.recipeExistenceService = recipeExistenceService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+    }
+
+    // Null when the recipe does not exist; misses are not cached.
+    // The returned instance is shared, so callers must not modify it.
+    public RecipeModel get(String id) {
+        if (recipeExistenceService.isKnownMissing(id)) return null;
+        RecipeModel recipe = cache.get(id, key -> recipeRepository.findById(key).orElse(null));
+        if (recipe == null) recipeExistenceService.markMissing(id);
+        return recipe;
+    }
+
+    // Existing recipes among the ids, keyed by id. Cached ids are served from the cache and the rest are read
+    // with one $in query. Those results are not cached: a bulk load is not atomic per key, so an invalidate
+    // racing it could otherwise put back the document it just replaced.
+    public Map<String, RecipeModel> getAll(Collection<String> ids) {
+        List<String> candidates = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            if (!recipeExistenceService.isKnownMissing(id)) candidates.add(id);
+        }
+        Map<String, RecipeModel> found = new HashMap<>(cache.getAllPresent(candidates));
+        List<String> uncached = new ArrayList<>();
+        for (String id : candidates) {
+            if (!found.containsKey(id)) uncached.add(id);
+        }
+        if (uncached.isEmpty()) return found;
+        for (RecipeModel recipe : recipeRepository.findAllById(uncached)) {
+            found.put(recipe.getId(), recipe);
+        }
+        for (String id : uncached) {
+            if (!found.containsKey(id)) recipeExistenceService.markMissing(id);
+        }
+        return found;
+    }
+
+    // Cached recipe or null, without loading
+    public RecipeModel getIfPresent(String id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        com.github.benmanes.caffeine.cache.stats.CacheStats s = cache.stats();
+        return new CacheStats(cache.estimatedSize(), s.hitCount(), s.missCount(), s.hitRate(),
+                s.loadSuccessCount(), s.loadFailureCount(), s.averageLoadPenalty() / 1_000_000.0,
+                s.evictionCount());
+    }
+}
@@ -0,0 +1,32 @@
+package Backend.service;
+
+import Backend.Model.RecipeModel;
+import Backend.search.CookingTimeParser;
+import Backend.search.IngredientParser;
+import Backend.search.TextAnalyzer;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+// Recomputes the fields derived from a recipe's free-form text right before it is written
+@Component
+public class RecipeDerivedFieldsListener extends AbstractMongoEventListener<RecipeModel> {
+
+    // Bump whenever applyTo changes so RecipeBackfillService recomputes older documents
+    public static final int DERIVED_FIELDS_VERSION = 2;
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<RecipeModel> event) {
+        applyTo(event.getSource());
+    }
+
+    public static void applyTo(RecipeModel recipe) {
+        recipe.setIngredientNames(IngredientParser.parse(recipe.getIngredients()));
+        recipe.setCategoryKey(TextAnalyzer.normalizeKey(recipe.getCategory()));
+        recipe.setCuisineKey(TextAnalyzer.normalizeKey(recipe.getCuisineType()));
+        Integer minutes = CookingTimeParser.parseMinutes(recipe.getCookingTime());
+        recipe.setCookingTimeMinutes(minutes);
+        recipe.setCookingTimeBucket(CookingTimeParser.bucket(minutes));
+        recipe.setDerivedFieldsVersion(DERIVED_FIELDS_VERSION);
+    }
+}
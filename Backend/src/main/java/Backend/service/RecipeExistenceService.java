@@ -0,0 +1,47 @@
+package Backend.service;
+
+import Backend.Model.RecipeModel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+// Remembers recipe ids that were just looked up and found missing, so repeated hits from bots and stale links
+// cost no query. Entries live only briefly: recipes can be created by other nodes or written straight to Mongo,
+// and such an id must not stay missing here for long. Saves seen by this process clear the entry at once.
+@Service
+public class RecipeExistenceService implements RecipeIndexer {
+
+    private final Cache<String, Boolean> missing;
+
+    @Autowired
+    public RecipeExistenceService(@Value("${recipes.missing-cache.max-size:100000}") long missingMaxSize,
+                                  @Value("${recipes.missing-cache.ttl-seconds:60}") long missingTtlSeconds) {
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(missingMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(missingTtlSeconds))
+                .build();
+    }
+
+    public boolean isKnownMissing(String id) {
+        return missing.getIfPresent(id) != null;
+    }
+
+    // Called after a lookup found nothing
+    public void markMissing(String id) {
+        missing.put(id, Boolean.TRUE);
+    }
+
+    @Override
+    public void index(RecipeModel recipe) {
+        missing.invalidate(recipe.getId());
+    }
+
+    @Override
+    public void remove(String recipeId) {
+        markMissing(recipeId);
+    }
+}
@@ -0,0 +1,181 @@
+package Backend.service;
+
+import Backend.DTO.FacetCount;
+import Backend.Model.RecipeModel;
+import Backend.search.CookingTimeParser;
+import Backend.search.TextAnalyzer;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facet counts for recipe browsing, maintained incrementally from the save and delete paths.
+ *
+ * Unfiltered counts come straight from a per-value counter. When filters are selected, each facet is counted
+ * against the other facets' selections (so the values of a facet stay selectable), using a bitmap per value.
+ */
+@Service
+public class RecipeFacetService implements RecipeIndexer {
+
+    public enum Facet {
+        CATEGORY("category", "categoryKey"),
+        CUISINE("cuisine", "cuisineKey"),
+        TIME("time", "cookingTimeBucket");
+
+        private final String param;
+        private final String field;
+
+        Facet(String param, String field) {
+            this.param = param;
+            this.field = field;
+        }
+
+        public String getParam() { return param; }
+        public String getField() { return field; }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> ordinalById = new HashMap<>();
+    private final List<String[]> keysByOrdinal = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+    private final Map<Facet, Map<String, RoaringBitmap>> postings = new EnumMap<>(Facet.class);
+    private final Map<Facet, Map<String, Integer>> counts = new EnumMap<>(Facet.class);
+    private final Map<Facet, Map<String, String>> labels = new EnumMap<>(Facet.class);
+
+    public RecipeFacetService() {
+        for (Facet facet : Facet.values()) {
+            postings.put(facet, new HashMap<>());
+            counts.put(facet, new HashMap<>());
+            labels.put(facet, new HashMap<>());
+        }
+    }
+
+    // Facet keys are derived from the raw fields so documents not yet backfilled are counted the same way
+    public static String[] keysOf(RecipeModel recipe) {
+        String[] keys = new String[Facet.values().length];
+        keys[Facet.CATEGORY.ordinal()] = TextAnalyzer.normalizeKey(recipe.getCategory());
+        keys[Facet.CUISINE.ordinal()] = TextAnalyzer.normalizeKey(recipe.getCuisineType());
+        keys[Facet.TIME.ordinal()] = CookingTimeParser.bucket(CookingTimeParser.parseMinutes(recipe.getCookingTime()));
+        return keys;
+    }
+
+    @Override
+    public void index(RecipeModel recipe) {
+        String[] keys = keysOf(recipe);
+        lock.writeLock().lock();
+        try {
+            removeLocked(recipe.getId());
+            int ordinal = freeOrdinals.isEmpty() ? keysByOrdinal.size() : freeOrdinals.pop();
+            if (ordinal == keysByOrdinal.size()) keysByOrdinal.add(keys);
+            else keysByOrdinal.set(ordinal, keys);
+            ordinalById.put(recipe.getId(), ordinal);
+
+            for (Facet facet : Facet.values()) {
+                String key = keys[facet.ordinal()];
+                if (key == null) continue;
+                labels.get(facet).put(key, label(facet, recipe, key));
+                postings.get(facet).computeIfAbsent(key, k -> new RoaringBitmap()).add(ordinal);
+                counts.get(facet).merge(key, 1, Integer::sum);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Counts for every facet given the selected values (normalized keys; empty or missing = no filter)
+    public Map<String, List<FacetCount>> facetCounts(Map<Facet, List<String>> selected) {
+        lock.readLock().lock();
+        try {
+            Map<Facet, RoaringBitmap> selections = new EnumMap<>(Facet.class);
+            for (Map.Entry<Facet, List<String>> e : selected.entrySet()) {
+                if (e.getValue() == null || e.getValue().isEmpty()) continue;
+                List<RoaringBitmap> values = new ArrayList<>();
+                for (String key : e.getValue()) {
+                    RoaringBitmap bits = postings.get(e.getKey()).get(key);
+                    if (bits != null) values.add(bits);
+                }
+                selections.put(e.getKey(), values.isEmpty() ? new RoaringBitmap() : FastAggregation.or(values.iterator()));
+            }
+
+            Map<String, List<FacetCount>> result = new LinkedHashMap<>();
+            for (Facet facet : Facet.values()) {
+                List<RoaringBitmap> others = new ArrayList<>();
+                for (Map.Entry<Facet, RoaringBitmap> e : selections.entrySet()) {
+                    if (e.getKey() != facet) others.add(e.getValue());
+                }
+
+                List<FacetCount> facetCounts = new ArrayList<>();
+                if (others.isEmpty()) {
+                    for (Map.Entry<String, Integer> e : counts.get(facet).entrySet()) {
+                        facetCounts.add(new FacetCount(e.getKey(), labels.get(facet).get(e.getKey()), e.getValue()));
+                    }
+                } else {
+                    RoaringBitmap filter = FastAggregation.and(others.iterator());
+                    for (Map.Entry<String, RoaringBitmap> e : postings.get(facet).entrySet()) {
+                        int count = RoaringBitmap.andCardinality(e.getValue(), filter);
+                        if (count > 0) {
+                            facetCounts.add(new FacetCount(e.getKey(), labels.get(facet).get(e.getKey()), count));
+                        }
+                    }
+                }
+                facetCounts.sort((a, b) -> Integer.compare(b.getCount(), a.getCount()));
+                result.put(facet.getParam(), facetCounts);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(String recipeId) {
+        Integer ordinal = ordinalById.remove(recipeId);
+        if (ordinal == null) return;
+        String[] keys = keysByOrdinal.get(ordinal);
+        for (Facet facet : Facet.values()) {
+            String key = keys[facet.ordinal()];
+            if (key == null) continue;
+            RoaringBitmap bits = postings.get(facet).get(key);
+            bits.remove(ordinal);
+            if (bits.isEmpty()) {
+                postings.get(facet).remove(key);
+                counts.get(facet).remove(key);
+                labels.get(facet).remove(key);
+            } else {
+                counts.get(facet).merge(key, -1, Integer::sum);
+            }
+        }
+        keysByOrdinal.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+    }
+
+    // Display label for a key: the most recently saved spelling
+    private static String label(Facet facet, RecipeModel recipe, String key) {
+        switch (facet) {
+            case CATEGORY: return recipe.getCategory().trim();
+            case CUISINE: return recipe.getCuisineType().trim();
+            default: return key;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package Backend.service;
+
+import Backend.DTO.ImportResult;
+import Backend.Model.RecipeModel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Bulk recipe import from newline-delimited JSON. The body is read one line at a time and each line is bound
+// with Jackson on its own, so a malformed record costs only that line. Valid records are written in unordered
+// insertMany batches; memory stays at one batch no matter how large the file is.
+@Service
+public class RecipeImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_TITLE_LENGTH = 200;
+    private static final int MAX_TEXT_LENGTH = 20_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectReader recipeReader;
+    private final RecipeIndexService recipeIndexService;
+    private final int batchSize;
+    private final int maxLineLength;
+
+    @Autowired
+    public RecipeImportService(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                               RecipeIndexService recipeIndexService,
+                               @Value("${recipes.import.batch-size:1000}") int batchSize,
+                               @Value("${recipes.import.max-line-length:65536}") int maxLineLength) {
+        this.mongoTemplate = mongoTemplate;
+        this.recipeReader = objectMapper.readerFor(RecipeModel.class);
+        this.recipeIndexService = recipeIndexService;
+        this.batchSize = batchSize;
+        this.maxLineLength = maxLineLength;
+    }
+
+    public ImportResult importNdjson(InputStream body) throws IOException {
+        ImportResult result = new ImportResult();
+        List<RecipeModel> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        StringBuilder line = new StringBuilder();
+        long lineNumber = 0;
+        while (true) {
+            int status = readLine(reader, line);
+            if (status == EOF && line.length() == 0) break;
+            lineNumber++;
+            if (status == TOO_LONG) {
+                reject(result, lineNumber, "Line is longer than " + maxLineLength + " characters");
+                continue;
+            }
+            if (line.toString().isBlank()) {
+                if (status == EOF) break;
+                continue;
+            }
+            result.setLines(result.getLines() + 1);
+
+            RecipeModel recipe;
+            try {
+                recipe = toRecipe(recipeReader.readValue(line.toString()));
+            } catch (JsonProcessingException e) {
+                reject(result, lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            } catch (IllegalArgumentException e) {
+                reject(result, lineNumber, e.getMessage());
+                continue;
+            }
+            batch.add(recipe);
+            batchLines.add(lineNumber);
+            if (batch.size() == batchSize) {
+                flush(batch, batchLines, result);
+            }
+            if (status == EOF) break;
+        }
+        flush(batch, batchLines, result);
+        return result;
+    }
+
+    // Copies only client-editable fields; ids, versions, ratings and counters always start fresh
+    private static RecipeModel toRecipe(RecipeModel input) {
+        if (input == null) throw new IllegalArgumentException("Expected a JSON object");
+        require(input.getTitle(), "title", MAX_TITLE_LENGTH);
+        require(input.getIngredients(), "ingredients", MAX_TEXT_LENGTH);
+        require(input.getInstructions(), "instructions", MAX_TEXT_LENGTH);
+        if (input.getDescription() != null && input.getDescription().length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("description is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        if (ImageStorageService.isContentKey(input.getMediaUrl())) {
+            // Uploaded blobs are reference-counted; imports may only point at external images
+            throw new IllegalArgumentException("mediaUrl must not reference an uploaded image");
+        }
+
+        RecipeModel recipe = new RecipeModel(new ObjectId().toHexString(), input.getTitle().trim(),
+                input.getDescription(), input.getIngredients(), input.getInstructions(), input.getCookingTime(),
+                input.getCategory(), input.getCuisineType(), input.getMediaUrl());
+        // Bulk inserts do not initialise @Version the way MongoTemplate.insert does
+        recipe.setVersion(0L);
+        return recipe;
+    }
+
+    private static void require(String value, String field, int maxLength) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " is longer than " + maxLength + " characters");
+        }
+    }
+
+    // Derived fields and index updates come from the same mapping events as a repository save
+    private void flush(List<RecipeModel> batch, List<Long> batchLines, ImportResult result) {
+        if (batch.isEmpty()) return;
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RecipeModel.class);
+        ops.insert(batch);
+        try {
+            result.setInserted(result.getInserted() + ops.execute().getInsertedCount());
+        } catch (BulkOperationException e) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+                reject(result, batchLines.get(error.getIndex()), error.getMessage());
+            }
+            result.setInserted(result.getInserted() + e.getResult().getInsertedCount());
+            // After-save events are not published when the bulk write throws, so index the survivors here
+            for (int i = 0; i < batch.size(); i++) {
+                if (!failed.contains(i)) recipeIndexService.recipeSaved(batch.get(i));
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private static void reject(ImportResult result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ImportResult.LineError(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static final int OK = 0;
+    private static final int EOF = 1;
+    private static final int TOO_LONG = 2;
+
+    // Reads up to the next '\n' into line, never buffering more than maxLineLength characters
+    private int readLine(BufferedReader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        boolean tooLong = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') return tooLong ? TOO_LONG : OK;
+            if (tooLong) continue;
+            if (line.length() == maxLineLength) {
+                tooLong = true;
+                line.setLength(0);
+                continue;
+            }
+            if (c != '\r') line.append((char) c);
+        }
+        return tooLong ? TOO_LONG : EOF;
+    }
+}
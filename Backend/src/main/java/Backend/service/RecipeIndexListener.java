@@ -0,0 +1,40 @@
+package Backend.service;
+
+import Backend.Model.RecipeModel;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+// Forwards recipe saves and deletes from the Mongo mapping layer to RecipeIndexService
+@Component
+public class RecipeIndexListener extends AbstractMongoEventListener<RecipeModel> {
+
+    private final RecipeIndexService recipeIndexService;
+
+    @Autowired
+    public RecipeIndexListener(RecipeIndexService recipeIndexService) {
+        this.recipeIndexService = recipeIndexService;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<RecipeModel> event) {
+        recipeIndexService.recipeSaved(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<RecipeModel> event) {
+        Object id = event.getSource().get("_id");
+        if (id instanceof Document) {
+            // deleteAllById issues {_id: {$in: [...]}}
+            Object in = ((Document) id).get("$in");
+            if (in instanceof Iterable) {
+                for (Object each : (Iterable<?>) in) recipeIndexService.recipeDeleted(each.toString());
+            }
+        } else if (id != null) {
+            recipeIndexService.recipeDeleted(id.toString());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package Backend.service;
+
+import Backend.Model.RecipeModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Keeps every RecipeIndexer in step with the recipes collection; repository saves and deletes reach it
+// through RecipeIndexListener, template-level writes call it directly
+@Service
+public class RecipeIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeIndexService.class);
+    private static final int REBUILD_BATCH = 1000;
+
+    private final List<RecipeIndexer> indexers;
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public RecipeIndexService(List<RecipeIndexer> indexers, MongoTemplate mongoTemplate) {
+        this.indexers = indexers;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // Pass the recipe as stored after the write
+    public void recipeSaved(RecipeModel recipe) {
+        if (recipe == null || recipe.getId() == null) return;
+        for (RecipeIndexer indexer : indexers) {
+            try {
+                indexer.index(recipe);
+            } catch (RuntimeException e) {
+                log.warn("{} failed to index recipe {}: {}", indexer.getClass().getSimpleName(), recipe.getId(), e.getMessage());
+            }
+        }
+    }
+
+    public void recipeDeleted(String recipeId) {
+        for (RecipeIndexer indexer : indexers) {
+            try {
+                indexer.remove(recipeId);
+            } catch (RuntimeException e) {
+                log.warn("{} failed to remove recipe {}: {}", indexer.getClass().getSimpleName(), recipeId, e.getMessage());
+            }
+        }
+    }
+
+    private void recipesSaved(List<RecipeModel> recipes) {
+        for (RecipeIndexer indexer : indexers) {
+            try {
+                indexer.indexAll(recipes);
+            } catch (RuntimeException e) {
+                log.warn("{} failed to index {} recipes: {}", indexer.getClass().getSimpleName(), recipes.size(), e.getMessage());
+            }
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        int count = 0;
+        List<RecipeModel> batch = new ArrayList<>(REBUILD_BATCH);
+        try (Stream<RecipeModel> recipes = mongoTemplate.stream(new Query(), RecipeModel.class)) {
+            for (RecipeModel recipe : (Iterable<RecipeModel>) recipes::iterator) {
+                batch.add(recipe);
+                if (batch.size() == REBUILD_BATCH) {
+                    recipesSaved(batch);
+                    count += batch.size();
+                    batch.clear();
+                }
+            }
+            recipesSaved(batch);
+            count += batch.size();
+        } catch (Exception e) {
+            log.warn("Recipe index rebuild stopped after {} recipes: {}", count, e.getMessage());
+            return;
+        }
+        log.info("Indexed {} recipes in {} ms", count, System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,22 @@
+package Backend.service;
+
+import Backend.Model.RecipeModel;
+
+import java.util.List;
+
+// An in-memory index derived from the recipes collection. RecipeIndexService feeds every implementation
+// from the save and delete paths and rebuilds them all in one pass over the collection at startup.
+public interface RecipeIndexer {
+
+    // Called with the full recipe after every insert or update; must replace any earlier entry for the id
+    void index(RecipeModel recipe);
+
+    // Bulk form used by the startup rebuild; implementations with costly per-recipe work can parallelise it
+    default void indexAll(List<RecipeModel> recipes) {
+        for (RecipeModel recipe : recipes) {
+            index(recipe);
+        }
+    }
+
+    void remove(String recipeId);
+}
@@ -0,0 +1,205 @@
+package Backend.service;
+
+import Backend.Exception.RecipeNotFoundException;
+import Backend.Model.RecipeModel;
+import Backend.Repository.RecipeRepository;
+import Backend.search.CookingTimeParser;
+import Backend.search.IngredientParser;
+import Backend.search.TextAnalyzer;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+// JSON Merge Patch (RFC 7396) for the user-editable fields of a recipe. The patch becomes one conditional
+// findAndModify with $set for new values and $unset for nulls, plus whichever derived fields depend on them,
+// so untouched fields are never rewritten.
+@Service
+public class RecipePatchService {
+
+    private enum Field {
+        TITLE("title", RecipeModel::getTitle, RecipeModel::setTitle, true),
+        DESCRIPTION("description", RecipeModel::getDescription, RecipeModel::setDescription, false),
+        INGREDIENTS("ingredients", RecipeModel::getIngredients, RecipeModel::setIngredients, true),
+        INSTRUCTIONS("instructions", RecipeModel::getInstructions, RecipeModel::setInstructions, true),
+        COOKING_TIME("cookingTime", RecipeModel::getCookingTime, RecipeModel::setCookingTime, false),
+        CATEGORY("category", RecipeModel::getCategory, RecipeModel::setCategory, false),
+        CUISINE_TYPE("cuisineType", RecipeModel::getCuisineType, RecipeModel::setCuisineType, false),
+        MEDIA_URL("mediaUrl", RecipeModel::getMediaUrl, RecipeModel::setMediaUrl, false);
+
+        private final String name;
+        private final Function<RecipeModel, String> getter;
+        private final BiConsumer<RecipeModel, String> setter;
+        private final boolean required;
+
+        Field(String name, Function<RecipeModel, String> getter, BiConsumer<RecipeModel, String> setter, boolean required) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+            this.required = required;
+        }
+
+        static Field named(String name) {
+            for (Field field : values()) {
+                if (field.name.equals(name)) return field;
+            }
+            return null;
+        }
+    }
+
+    private final RecipeRepository recipeRepository;
+    private final ImageStorageService imageStorageService;
+    private final RecipeCacheService recipeCacheService;
+    private final RecipeIndexService recipeIndexService;
+
+    @Autowired
+    public RecipePatchService(RecipeRepository recipeRepository, ImageStorageService imageStorageService,
+                              RecipeCacheService recipeCacheService, RecipeIndexService recipeIndexService) {
+        this.recipeRepository = recipeRepository;
+        this.imageStorageService = imageStorageService;
+        this.recipeCacheService = recipeCacheService;
+        this.recipeIndexService = recipeIndexService;
+    }
+
+    // Throws IllegalArgumentException for an invalid patch, OptimisticLockingFailureException if the recipe is no
+    // longer at expectedVersion and RecipeNotFoundException if it does not exist
+    public Patched apply(String recipeId, long expectedVersion, JsonNode patch) {
+        Map<Field, String> values = parse(patch);
+        if (values.isEmpty()) {
+            RecipeModel current = recipeRepository.findById(recipeId)
+                    .orElseThrow(() -> new RecipeNotFoundException(recipeId));
+            long version = current.getVersion() == null ? 0 : current.getVersion();
+            if (version != expectedVersion) throw new OptimisticLockingFailureException("Recipe " + recipeId + " has changed");
+            return new Patched(Map.of(), version);
+        }
+
+        Update update = new Update();
+        for (Map.Entry<Field, String> entry : values.entrySet()) {
+            setOrUnset(update, entry.getKey().name, entry.getValue());
+        }
+        addDerivedFields(update, values);
+
+        // Reference the new image before the write so it cannot be collected underneath us
+        boolean imageChanged = values.containsKey(Field.MEDIA_URL);
+        String newImage = values.get(Field.MEDIA_URL);
+        if (imageChanged) imageStorageService.acquire(newImage);
+
+        RecipeModel before;
+        try {
+            before = recipeRepository.updateIfVersion(recipeId, expectedVersion, update);
+        } catch (RuntimeException e) {
+            if (imageChanged) imageStorageService.release(newImage);
+            throw e;
+        }
+        if (before == null) {
+            if (imageChanged) imageStorageService.release(newImage);
+            if (!recipeRepository.existsById(recipeId)) throw new RecipeNotFoundException(recipeId);
+            throw new OptimisticLockingFailureException("Recipe " + recipeId + " has changed");
+        }
+
+        // Replay the patch on the returned copy to get the recipe as stored now
+        String previousImage = before.getMediaUrl();
+        Map<String, Object> changed = new LinkedHashMap<>();
+        for (Map.Entry<Field, String> entry : values.entrySet()) {
+            Field field = entry.getKey();
+            if (!Objects.equals(field.getter.apply(before), entry.getValue())) {
+                changed.put(field.name, entry.getValue());
+            }
+            field.setter.accept(before, entry.getValue());
+        }
+        RecipeModel after = before;
+        RecipeDerivedFieldsListener.applyTo(after);
+        long version = (after.getVersion() == null ? 0 : after.getVersion()) + 1;
+        after.setVersion(version);
+
+        // A legacy file name is never released here: it came from the stored document, not from an upload we issued
+        if (imageChanged && ImageStorageService.isContentKey(previousImage)) imageStorageService.release(previousImage);
+        recipeCacheService.invalidate(recipeId);
+        // Template updates bypass the save events, so the in-memory indexes are told directly
+        recipeIndexService.recipeSaved(after);
+        return new Patched(changed, version);
+    }
+
+    private static Map<Field, String> parse(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("A merge patch must be a JSON object");
+        }
+        Map<Field, String> values = new LinkedHashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = patch.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> entry = it.next();
+            Field field = Field.named(entry.getKey());
+            if (field == null) {
+                throw new IllegalArgumentException("Field '" + entry.getKey() + "' cannot be patched");
+            }
+            JsonNode value = entry.getValue();
+            if (value.isNull()) {
+                if (field.required) throw new IllegalArgumentException(field.name + " cannot be removed");
+                values.put(field, null);
+            } else if (value.isTextual()) {
+                if (field.required && value.asText().isBlank()) {
+                    throw new IllegalArgumentException(field.name + " must not be blank");
+                }
+                if (field == Field.MEDIA_URL && !ImageStorageService.isContentKey(value.asText())) {
+                    throw new IllegalArgumentException("mediaUrl must be an image key returned by the upload endpoint");
+                }
+                values.put(field, value.asText());
+            } else {
+                throw new IllegalArgumentException(field.name + " must be a string or null");
+            }
+        }
+        return values;
+    }
+
+    // Same derivations as RecipeDerivedFieldsListener, limited to the fields the patch touches
+    private static void addDerivedFields(Update update, Map<Field, String> values) {
+        if (values.containsKey(Field.INGREDIENTS)) {
+            update.set("ingredientNames", IngredientParser.parse(values.get(Field.INGREDIENTS)));
+        }
+        if (values.containsKey(Field.CATEGORY)) {
+            setOrUnset(update, "categoryKey", TextAnalyzer.normalizeKey(values.get(Field.CATEGORY)));
+        }
+        if (values.containsKey(Field.CUISINE_TYPE)) {
+            setOrUnset(update, "cuisineKey", TextAnalyzer.normalizeKey(values.get(Field.CUISINE_TYPE)));
+        }
+        if (values.containsKey(Field.COOKING_TIME)) {
+            Integer minutes = CookingTimeParser.parseMinutes(values.get(Field.COOKING_TIME));
+            setOrUnset(update, "cookingTimeMinutes", minutes);
+            setOrUnset(update, "cookingTimeBucket", CookingTimeParser.bucket(minutes));
+        }
+        // Only a patch that rewrote every derived field may mark the document current; otherwise a stale
+        // document would keep its other derived fields and never be picked up by RecipeBackfillService
+        if (values.containsKey(Field.INGREDIENTS) && values.containsKey(Field.CATEGORY)
+                && values.containsKey(Field.CUISINE_TYPE) && values.containsKey(Field.COOKING_TIME)) {
+            update.set("derivedFieldsVersion", RecipeDerivedFieldsListener.DERIVED_FIELDS_VERSION);
+        }
+    }
+
+    private static void setOrUnset(Update update, String field, Object value) {
+        if (value == null) {
+            update.unset(field);
+        } else {
+            update.set(field, value);
+        }
+    }
+
+    public static final class Patched {
+        private final Map<String, Object> changed;
+        private final long version;
+
+        Patched(Map<String, Object> changed, long version) {
+            this.changed = changed;
+            this.version = version;
+        }
+
+        public Map<String, Object> getChanged() { return changed; }
+        public long getVersion() { return version; }
+    }
+}
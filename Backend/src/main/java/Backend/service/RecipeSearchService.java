@@ -0,0 +1,39 @@
+package Backend.service;
+
+import Backend.Model.RecipeModel;
+import Backend.search.Bm25Index;
+import Backend.search.TextAnalyzer;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Full-text recipe search over an in-process BM25 index
+@Service
+public class RecipeSearchService implements RecipeIndexer {
+
+    // Field boosts, in the order fields are passed to the index
+    private static final float TITLE_BOOST = 3.0f;
+    private static final float INGREDIENTS_BOOST = 2.0f;
+    private static final float DESCRIPTION_BOOST = 1.0f;
+    private static final float INSTRUCTIONS_BOOST = 0.5f;
+
+    private final Bm25Index index = new Bm25Index(TITLE_BOOST, INGREDIENTS_BOOST, DESCRIPTION_BOOST, INSTRUCTIONS_BOOST);
+
+    @Override
+    public void index(RecipeModel recipe) {
+        index.put(recipe.getId(), List.of(
+                TextAnalyzer.analyze(recipe.getTitle()),
+                TextAnalyzer.analyze(recipe.getIngredients()),
+                TextAnalyzer.analyze(recipe.getDescription()),
+                TextAnalyzer.analyze(recipe.getInstructions())));
+    }
+
+    @Override
+    public void remove(String recipeId) {
+        index.remove(recipeId);
+    }
+
+    public List<Bm25Index.Hit> search(String query, int limit) {
+        return index.search(TextAnalyzer.analyze(query), limit);
+    }
+}
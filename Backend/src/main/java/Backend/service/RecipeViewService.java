@@ -0,0 +1,169 @@
+package Backend.service;
+
+import Backend.DTO.RecipeViewStats;
+import Backend.Model.RecipeViews;
+import Backend.search.Hashing;
+import Backend.search.HyperLogLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Write-behind view counting. A view only bumps an in-memory LongAdder and HyperLogLog sketch for the recipe;
+// every few seconds the accumulated deltas go out as one unordered bulk of upserts ($inc for the count, $max per
+// sketch register), so request load never turns into write load. Counts from the last interval are lost if the
+// process dies, which is fine for numbers that are approximate anyway.
+// Deleted recipes are known to RecipeExistenceService for a while; their deltas are dropped instead of upserted,
+// and a counter a flush recreated while the recipe was being deleted is removed again right after.
+@Service
+public class RecipeViewService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeViewService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final RecipeExistenceService recipeExistenceService;
+    private final int batchSize;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RecipeViewService(MongoTemplate mongoTemplate, RecipeExistenceService recipeExistenceService,
+                             @Value("${views.flush-batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.recipeExistenceService = recipeExistenceService;
+        this.batchSize = batchSize;
+    }
+
+    // viewerId only feeds the distinct-viewer sketch; it is hashed and never stored
+    public void record(String recipeId, String viewerId) {
+        Pending p = pending.computeIfAbsent(recipeId, id -> new Pending());
+        p.views.increment();
+        if (viewerId != null) p.offer(Hashing.hash64(viewerId));
+    }
+
+    // Stored totals plus whatever has not been flushed yet
+    public RecipeViewStats stats(String recipeId) {
+        byte[] registers = new byte[HyperLogLog.REGISTERS];
+        long views = 0;
+        RecipeViews stored = mongoTemplate.findById(recipeId, RecipeViews.class);
+        if (stored != null) {
+            views = stored.getViews();
+            for (Map.Entry<String, Integer> r : stored.getViewers().entrySet()) {
+                registers[Integer.parseInt(r.getKey())] = r.getValue().byteValue();
+            }
+        }
+        Pending p = pending.get(recipeId);
+        if (p != null) {
+            views += p.views.sum();
+            for (int i = 0; i < registers.length; i++) {
+                registers[i] = (byte) Math.max(registers[i], p.registers[i]);
+            }
+        }
+        return new RecipeViewStats(recipeId, views, HyperLogLog.estimate(registers));
+    }
+
+    public void delete(String recipeId) {
+        recipeExistenceService.markMissing(recipeId);
+        pending.remove(recipeId);
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(recipeId)), RecipeViews.class);
+    }
+
+    @Scheduled(fixedDelayString = "${views.flush-interval-ms:5000}", initialDelayString = "${views.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+        Date now = new Date();
+        List<String> ids = new ArrayList<>(batchSize);
+        List<Pending> batch = new ArrayList<>(batchSize);
+        for (String id : pending.keySet()) {
+            // A view racing with this remove may land on the detached instance and be lost; that is accepted
+            Pending p = pending.remove(id);
+            if (p == null || recipeExistenceService.isKnownMissing(id)) continue;
+            ids.add(id);
+            batch.add(p);
+            if (batch.size() == batchSize) {
+                if (!write(ids, batch, now)) return;
+                ids.clear();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) write(ids, batch, now);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private boolean write(List<String> ids, List<Pending> batch, Date now) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RecipeViews.class);
+        for (int i = 0; i < ids.size(); i++) {
+            Pending p = batch.get(i);
+            Update update = new Update().inc("views", p.views.sum()).set("updatedAt", now);
+            for (int r = 0; r < p.registers.length; r++) {
+                if (p.registers[r] != 0) update.max("viewers." + r, (int) p.registers[r]);
+            }
+            ops.upsert(new Query(Criteria.where("_id").is(ids.get(i))), update);
+        }
+        try {
+            ops.execute();
+        } catch (Exception e) {
+            // Put the deltas back so the next flush retries them; stop this round rather than fail every batch
+            for (int i = 0; i < ids.size(); i++) {
+                if (recipeExistenceService.isKnownMissing(ids.get(i))) continue;
+                pending.merge(ids.get(i), batch.get(i), Pending::mergeFrom);
+            }
+            log.warn("Could not flush view counts for {} recipes: {}", ids.size(), e.getMessage());
+            return false;
+        }
+        // A recipe deleted while this batch was in flight just had its counter upserted back
+        List<String> deleted = ids.stream().filter(recipeExistenceService::isKnownMissing).collect(Collectors.toList());
+        if (!deleted.isEmpty()) {
+            try {
+                mongoTemplate.remove(new Query(Criteria.where("_id").in(deleted)), RecipeViews.class);
+            } catch (Exception e) {
+                log.warn("Could not remove view counts of {} deleted recipes: {}", deleted.size(), e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private static final class Pending {
+        private final LongAdder views = new LongAdder();
+        private final byte[] registers = new byte[HyperLogLog.REGISTERS];
+
+        void offer(long hash) {
+            int index = HyperLogLog.register(hash);
+            byte rank = HyperLogLog.rank(hash);
+            // Most views come from viewers already counted, so only an actual increase takes the lock
+            if (registers[index] >= rank) return;
+            synchronized (this) {
+                if (registers[index] < rank) registers[index] = rank;
+            }
+        }
+
+        Pending mergeFrom(Pending other) {
+            views.add(other.views.sum());
+            synchronized (this) {
+                for (int i = 0; i < registers.length; i++) {
+                    if (other.registers[i] > registers[i]) registers[i] = other.registers[i];
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package Backend.service;
+
+import Backend.Model.RecipeModel;
+import Backend.search.Hashing;
+import Backend.search.IngredientParser;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "More like this" index over ingredient sets. Each recipe gets a MinHash signature of its normalized ingredient
+ * names, split into LSH bands; recipes sharing any band bucket become candidates, and candidates are ranked by
+ * their exact Jaccard similarity. With 32 bands of 4 rows, pairs above ~0.4 Jaccard are found with high
+ * probability while dissimilar recipes rarely collide, so a query touches a few buckets instead of every recipe.
+ */
+@Service
+public class SimilarRecipeService implements RecipeIndexer {
+
+    private static final int BANDS = 32;
+    private static final int ROWS = 4;
+    private static final int HASHES = BANDS * ROWS;
+    // Upper bound on candidates scored per query, for buckets shared by many near-identical recipes
+    private static final int MAX_CANDIDATES = 5000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<Long, Set<String>> buckets = new HashMap<>();
+
+    @Override
+    public void index(RecipeModel recipe) {
+        Entry entry = entry(recipe);
+        lock.writeLock().lock();
+        try {
+            put(recipe.getId(), entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Signatures are the expensive part, so a rebuild batch computes them on the fork-join pool first
+    @Override
+    public void indexAll(List<RecipeModel> recipes) {
+        List<Entry> computed = recipes.parallelStream().map(SimilarRecipeService::entry).toList();
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < recipes.size(); i++) {
+                put(recipes.get(i).getId(), computed.get(i));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(String recipeId) {
+        lock.readLock().lock();
+        try {
+            return entries.containsKey(recipeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Most similar recipes first; empty when the recipe is unknown or has no ingredients
+    public List<Hit> similar(String recipeId, int limit) {
+        lock.readLock().lock();
+        try {
+            Entry target = entries.get(recipeId);
+            if (target == null) return List.of();
+
+            Set<String> candidates = new HashSet<>();
+            for (int band = 0; band < BANDS && candidates.size() < MAX_CANDIDATES; band++) {
+                Set<String> bucket = buckets.get(target.bandKeys[band]);
+                if (bucket != null) candidates.addAll(bucket);
+            }
+            candidates.remove(recipeId);
+
+            Comparator<Hit> best = Comparator.comparingDouble(Hit::getSimilarity).reversed()
+                    .thenComparing(Hit::getRecipeId);
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, best.reversed());
+            for (String candidate : candidates) {
+                Hit hit = new Hit(candidate, jaccard(target.shingles, entries.get(candidate).shingles));
+                if (top.size() < limit) {
+                    top.add(hit);
+                } else if (best.compare(hit, top.peek()) < 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(best);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(String recipeId, Entry entry) {
+        removeLocked(recipeId);
+        if (entry == null) return;
+        entries.put(recipeId, entry);
+        for (long key : entry.bandKeys) {
+            buckets.computeIfAbsent(key, k -> new HashSet<>()).add(recipeId);
+        }
+    }
+
+    private void removeLocked(String recipeId) {
+        Entry old = entries.remove(recipeId);
+        if (old == null) return;
+        for (long key : old.bandKeys) {
+            Set<String> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(recipeId) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private static Entry entry(RecipeModel recipe) {
+        List<String> names = recipe.getIngredientNames() != null && !recipe.getIngredientNames().isEmpty()
+                ? recipe.getIngredientNames()
+                : IngredientParser.parse(recipe.getIngredients());
+        if (names.isEmpty()) return null;
+
+        long[] shingles = names.stream().mapToLong(Hashing::hash64).sorted().distinct().toArray();
+
+        // One 64-bit hash per name yields all 128 permutations as h1 + i*h2 (Kirsch-Mitzenmacher)
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            int h1 = (int) shingle;
+            int h2 = (int) (shingle >>> 32) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                int value = mix32(h1 + i * h2) & Integer.MAX_VALUE;
+                if (value < signature[i]) signature[i] = value;
+            }
+        }
+
+        long[] bandKeys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = key * 0x9E3779B97F4A7C15L + signature[band * ROWS + row];
+            }
+            bandKeys[band] = Hashing.mix64(key);
+        }
+        return new Entry(shingles, bandKeys);
+    }
+
+    // Exact Jaccard over sorted, distinct name hashes
+    static double jaccard(long[] a, long[] b) {
+        int i = 0, j = 0, common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    private static int mix32(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    // Band keys are kept so removal does not need the signature
+    private static final class Entry {
+        private final long[] shingles;
+        private final long[] bandKeys;
+
+        Entry(long[] shingles, long[] bandKeys) {
+            this.shingles = shingles;
+            this.bandKeys = bandKeys;
+        }
+    }
+
+    public static final class Hit {
+        private final String recipeId;
+        private final double similarity;
+
+        Hit(String recipeId, double similarity) {
+            this.recipeId = recipeId;
+            this.similarity = similarity;
+        }
+
+        public String getRecipeId() { return recipeId; }
+        public double getSimilarity() { return similarity; }
+    }
+}
@@ -0,0 +1,68 @@
+package Backend.service;
+
+import Backend.Model.RecipeModel;
+import Backend.search.TextAnalyzer;
+import Backend.search.TitleTrie;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Typeahead over recipe titles. Every word-start suffix of the normalized title is a key, so "chick" completes
+// both "Chicken Curry" and "Spicy Chicken Wings"; completions are ordered by rating and comment activity.
+@Service
+public class TitleSuggestService implements RecipeIndexer {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final int MAX_KEY_WORDS = 6;
+    private static final int MAX_KEY_LENGTH = 80;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final TitleTrie trie = new TitleTrie(MAX_SUGGESTIONS);
+
+    @Override
+    public void index(RecipeModel recipe) {
+        if (recipe.getTitle() == null || recipe.getTitle().isBlank()) {
+            trie.remove(recipe.getId());
+            return;
+        }
+        trie.put(recipe.getId(), recipe.getTitle().trim(), keys(recipe.getTitle()), popularity(recipe));
+    }
+
+    @Override
+    public void remove(String recipeId) {
+        trie.remove(recipeId);
+    }
+
+    public List<TitleTrie.Entry> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) return List.of();
+        return trie.complete(key, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    private static long popularity(RecipeModel recipe) {
+        return (long) recipe.getRatingCount() + recipe.getCommentCount();
+    }
+
+    private static List<String> keys(String title) {
+        String normalized = normalize(title);
+        if (normalized.isEmpty()) return List.of();
+        String[] words = normalized.split(" ");
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < words.length && i < MAX_KEY_WORDS; i++) {
+            String key = String.join(" ", Arrays.asList(words).subList(i, words.length));
+            keys.add(key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key);
+        }
+        return new ArrayList<>(keys);
+    }
+
+    // Same folding as search, with punctuation collapsed to single spaces
+    private static String normalize(String text) {
+        if (text == null) return "";
+        return NON_WORD.matcher(TextAnalyzer.fold(text)).replaceAll(" ").trim();
+    }
+}
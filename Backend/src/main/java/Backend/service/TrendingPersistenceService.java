@@ -0,0 +1,79 @@
+package Backend.service;
+
+import Backend.Model.TrendingSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+
+// Saves TrendingService's top-N to Mongo periodically and seeds it from the last snapshot at startup,
+// so a restart does not reset what is trending. Also drives the tick that folds buffered engagement into the ranking.
+@Service
+public class TrendingPersistenceService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingPersistenceService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final TrendingService trendingService;
+    private final int persistLimit;
+
+    @Autowired
+    public TrendingPersistenceService(MongoTemplate mongoTemplate, TrendingService trendingService,
+                                      @Value("${trending.persist-limit:1000}") int persistLimit) {
+        this.mongoTemplate = mongoTemplate;
+        this.trendingService = trendingService;
+        this.persistLimit = persistLimit;
+    }
+
+    @Scheduled(fixedDelayString = "${trending.fold-interval-ms:5000}", initialDelayString = "${trending.fold-interval-ms:5000}")
+    public void fold() {
+        trendingService.fold();
+    }
+
+    @Scheduled(fixedDelayString = "${trending.persist-interval-ms:300000}",
+            initialDelayString = "${trending.persist-interval-ms:300000}")
+    public void persist() {
+        List<TrendingService.Hit> hits = trendingService.snapshotIfChanged(persistLimit);
+        if (hits == null) return;
+
+        TrendingSnapshot snapshot = new TrendingSnapshot();
+        snapshot.setTakenAt(new Date());
+        for (TrendingService.Hit hit : hits) {
+            snapshot.getEntries().add(new TrendingSnapshot.Entry(hit.getRecipeId(), hit.getScore()));
+        }
+        try {
+            mongoTemplate.save(snapshot);
+        } catch (Exception e) {
+            trendingService.markChanged();
+            log.warn("Could not persist trending snapshot: {}", e.getMessage());
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        TrendingSnapshot snapshot;
+        try {
+            snapshot = mongoTemplate.findById(TrendingSnapshot.CURRENT, TrendingSnapshot.class);
+        } catch (Exception e) {
+            log.warn("Could not load trending snapshot: {}", e.getMessage());
+            return;
+        }
+        if (snapshot == null || snapshot.getTakenAt() == null) return;
+
+        long takenAt = snapshot.getTakenAt().getTime();
+        for (TrendingSnapshot.Entry e : snapshot.getEntries()) {
+            trendingService.restore(e.getRecipeId(), e.getScore(), takenAt);
+        }
+        log.info("Restored {} trending scores", snapshot.getEntries().size());
+    }
+}
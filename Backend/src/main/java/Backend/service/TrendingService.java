@@ -0,0 +1,210 @@
+package Backend.service;
+
+import Backend.Model.RecipeModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.DoubleAdder;
+
+// Trending recipes by exponentially time-decayed engagement.
+// Scores use forward decay: an event at time t adds weight * e^(lambda * (t - landmark)), so older events never
+// need touching and the ranking order never changes as time passes. Decay is applied only when a score is read.
+// When the exponent gets large every score is divided down and the landmark moved to now (lazy rescaling);
+// that is also when scores that have decayed to nothing are dropped.
+// Requests only add to a per-recipe buffer; the ranking is updated when the buffer is folded in on a short tick
+// (TrendingPersistenceService), so no request waits on the lock. Only the best maxTracked recipes are kept.
+@Service
+public class TrendingService implements RecipeIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    public enum Signal {
+        VIEW(1), RATING(4), COMMENT(5);
+
+        private final double weight;
+
+        Signal(double weight) { this.weight = weight; }
+
+        public double getWeight() { return weight; }
+    }
+
+    // e^50 is far from double overflow but large enough that rescaling is rare (~72 days at a 24h half-life)
+    private static final double RESCALE_EXPONENT = 50;
+    // Below about a tenth of a view, a recipe is no longer trending
+    private static final double MIN_SCORE = 0.1;
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble((Entry e) -> e.score).reversed()
+            .thenComparing(e -> e.recipeId);
+
+    private final double lambdaPerMilli;
+
+    // Replaced as a whole on rescale so readers always see a landmark with the scores that belong to it
+    private volatile State state = new State(System.currentTimeMillis());
+    private volatile boolean dirty;
+    private final Map<String, DoubleAdder> pending = new ConcurrentHashMap<>();
+    private final int maxTracked;
+
+    @Autowired
+    public TrendingService(@Value("${trending.half-life-hours:24}") double halfLifeHours,
+                           @Value("${trending.max-tracked:10000}") int maxTracked) {
+        this.lambdaPerMilli = Math.log(2) / (halfLifeHours * 3_600_000d);
+        this.maxTracked = maxTracked;
+    }
+
+    public void record(String recipeId, Signal signal) {
+        pending.computeIfAbsent(recipeId, id -> new DoubleAdder()).add(signal.getWeight());
+    }
+
+    // Moves buffered engagement into the ranking as if it happened now, then trims the ranking's tail
+    synchronized void fold() {
+        if (pending.isEmpty()) return;
+        long now = System.currentTimeMillis();
+        for (String id : pending.keySet()) {
+            // Engagement racing with this remove may land on the detached adder and be lost; that is accepted
+            DoubleAdder weight = pending.remove(id);
+            if (weight != null) add(id, weight.sum(), now);
+        }
+        prune(now);
+    }
+
+    // Highest-scoring recipes right now, best first; walks only the first k entries of the ranking
+    public List<Hit> top(int k) {
+        State current = state;
+        double decay = Math.exp(-lambdaPerMilli * (System.currentTimeMillis() - current.landmark));
+        List<Hit> hits = new ArrayList<>(k);
+        Iterator<Entry> it = current.ranking.iterator();
+        while (hits.size() < k && it.hasNext()) {
+            Entry e = it.next();
+            hits.add(new Hit(e.recipeId, e.score * decay));
+        }
+        return hits;
+    }
+
+    @Override
+    public void index(RecipeModel recipe) {
+        // Engagement, not recipe content, drives the score
+    }
+
+    @Override
+    public synchronized void remove(String recipeId) {
+        pending.remove(recipeId);
+        Double old = state.scores.remove(recipeId);
+        if (old != null) {
+            state.ranking.remove(new Entry(recipeId, old));
+            dirty = true;
+        }
+    }
+
+    private void add(String recipeId, double weight, long now) {
+        State current = state;
+        double exponent = lambdaPerMilli * (now - current.landmark);
+        if (exponent > RESCALE_EXPONENT) {
+            current = rescale(now);
+            exponent = 0;
+        }
+        Double old = current.scores.get(recipeId);
+        double updated = (old == null ? 0 : old) + weight * Math.exp(exponent);
+        if (old != null) {
+            current.ranking.remove(new Entry(recipeId, old));
+        }
+        current.scores.put(recipeId, updated);
+        current.ranking.add(new Entry(recipeId, updated));
+        dirty = true;
+    }
+
+    // Drops the lowest entries beyond maxTracked, and any that have decayed below MIN_SCORE
+    private void prune(long now) {
+        State current = state;
+        double decay = Math.exp(-lambdaPerMilli * (now - current.landmark));
+        while (!current.ranking.isEmpty()) {
+            Entry last = current.ranking.last();
+            if (current.scores.size() <= maxTracked && last.score * decay >= MIN_SCORE) break;
+            current.ranking.remove(last);
+            current.scores.remove(last.recipeId);
+        }
+    }
+
+    private State rescale(long now) {
+        State previous = state;
+        double factor = Math.exp(-lambdaPerMilli * (now - previous.landmark));
+        State next = new State(now);
+        int dropped = 0;
+        for (Map.Entry<String, Double> e : previous.scores.entrySet()) {
+            double score = e.getValue() * factor;
+            if (score < MIN_SCORE) {
+                dropped++;
+                continue;
+            }
+            next.scores.put(e.getKey(), score);
+            next.ranking.add(new Entry(e.getKey(), score));
+        }
+        state = next;
+        log.info("Rescaled trending scores: kept {}, dropped {}", next.scores.size(), dropped);
+        return next;
+    }
+
+    // Entries for a snapshot, or null if nothing changed since the last one; see TrendingPersistenceService
+    List<Hit> snapshotIfChanged(int limit) {
+        if (!dirty) return null;
+        dirty = false;
+        return top(limit);
+    }
+
+    void markChanged() {
+        dirty = true;
+    }
+
+    // Adds a score measured at takenAt, decayed to now
+    synchronized void restore(String recipeId, double score, long takenAt) {
+        long now = System.currentTimeMillis();
+        double decayed = score * Math.exp(-lambdaPerMilli * (now - takenAt));
+        if (decayed >= MIN_SCORE) {
+            add(recipeId, decayed, now);
+            prune(now);
+        }
+    }
+
+    public static class Hit {
+        private final String recipeId;
+        private final double score;
+
+        Hit(String recipeId, double score) {
+            this.recipeId = recipeId;
+            this.score = score;
+        }
+
+        public String getRecipeId() { return recipeId; }
+        public double getScore() { return score; }
+    }
+
+    private static final class State {
+        final long landmark;
+        final Map<String, Double> scores = new HashMap<>();
+        final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+
+        State(long landmark) {
+            this.landmark = landmark;
+        }
+    }
+
+    private static final class Entry {
+        final String recipeId;
+        final double score;
+
+        Entry(String recipeId, double score) {
+            this.recipeId = recipeId;
+            this.score = score;
+        }
+    }
+}
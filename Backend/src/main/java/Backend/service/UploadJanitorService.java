@@ -0,0 +1,207 @@
+package Backend.service;
+
+import Backend.DTO.UploadGcReport;
+import Backend.Model.ChallengeModel;
+import Backend.Model.ImageBlob;
+import Backend.Model.RecipeModel;
+import Backend.search.BloomFilter;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Periodically deletes uploaded files that nothing points at: uploads that were never attached, blobs whose
+// reference count leaked, legacy files left behind by old delete paths, variants of vanished blobs and stale
+// temp files. Every recipe mediaUrl and challenge imageUrl is streamed into a Bloom filter first; a file the
+// filter has never seen is certainly unreferenced as of that scan, and is confirmed with an exact query before
+// it goes. Files younger than the grace period are never touched, and deletes are paced so a large backlog
+// does not saturate the disk.
+@Service
+public class UploadJanitorService {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadJanitorService.class);
+
+    private static final Pattern VARIANT = Pattern.compile("([0-9a-f]{64})_w\\d+\\.(jpg|png|gif|webp)");
+    // Names the old challenge upload path produced: challenges/<epoch millis>_<original name>
+    private static final Pattern LEGACY_CHALLENGE = Pattern.compile("challenges/\\d{13}_[^/]+");
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final MongoTemplate mongoTemplate;
+    private final ImageStorageService imageStorageService;
+    private final boolean enabled;
+    private final Duration gracePeriod;
+    private final long pauseMillis;
+    private final int maxDeletesPerRun;
+    private final boolean collectLegacyRecipeFiles;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile UploadGcReport lastReport;
+
+    @Autowired
+    public UploadJanitorService(MongoTemplate mongoTemplate, ImageStorageService imageStorageService,
+                                @Value("${uploads.gc.enabled:true}") boolean enabled,
+                                @Value("${uploads.gc.grace-period-hours:24}") long gracePeriodHours,
+                                @Value("${uploads.gc.deletes-per-second:20}") int deletesPerSecond,
+                                @Value("${uploads.gc.max-deletes-per-run:10000}") int maxDeletesPerRun,
+                                @Value("${uploads.gc.legacy-recipe-files:false}") boolean collectLegacyRecipeFiles) {
+        this.mongoTemplate = mongoTemplate;
+        this.imageStorageService = imageStorageService;
+        this.enabled = enabled;
+        this.gracePeriod = Duration.ofHours(gracePeriodHours);
+        this.pauseMillis = 1000L / Math.max(1, deletesPerSecond);
+        this.maxDeletesPerRun = maxDeletesPerRun;
+        this.collectLegacyRecipeFiles = collectLegacyRecipeFiles;
+    }
+
+    public UploadGcReport lastReport() {
+        return lastReport;
+    }
+
+    @Scheduled(fixedDelayString = "${uploads.gc.interval-ms:21600000}",
+            initialDelayString = "${uploads.gc.initial-delay-ms:3600000}")
+    public void collect() {
+        if (!enabled || !running.compareAndSet(false, true)) return;
+        UploadGcReport report = new UploadGcReport();
+        report.setStartedAt(new Date());
+        long started = System.currentTimeMillis();
+        try {
+            BloomFilter referenced = referencedKeys(report);
+            sweep(referenced, report);
+            report.setCompleted(true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Never guess: a failed reference scan ends the run before anything is deleted
+            log.warn("Upload collection stopped: {}", e.getMessage());
+        } finally {
+            report.setDurationMs(System.currentTimeMillis() - started);
+            lastReport = report;
+            running.set(false);
+        }
+        log.info("Upload collection deleted {} of {} files, reclaiming {} bytes in {} ms",
+                report.getFilesDeleted(), report.getFilesScanned(), report.getBytesReclaimed(), report.getDurationMs());
+    }
+
+    private BloomFilter referencedKeys(UploadGcReport report) {
+        long expected = mongoTemplate.estimatedCount(RecipeModel.class) + mongoTemplate.estimatedCount(ChallengeModel.class);
+        // Headroom for documents created while the scan runs
+        BloomFilter filter = new BloomFilter(expected + expected / 10 + 1000, FALSE_POSITIVE_RATE);
+        report.setReferencesScanned(
+                streamReferences(RecipeModel.class, "mediaUrl", filter)
+                        + streamReferences(ChallengeModel.class, "imageUrl", filter));
+        return filter;
+    }
+
+    private long streamReferences(Class<?> type, String field, BloomFilter filter) {
+        Query query = new Query(Criteria.where(field).ne(null)).cursorBatchSize(1000);
+        query.fields().include(field).exclude("_id");
+        long count = 0;
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(type))) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                filter.put(ImageStorageService.keyFromUrl(document.getString(field)));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void sweep(BloomFilter referenced, UploadGcReport report) throws IOException, InterruptedException {
+        Path root = imageStorageService.uploadRoot();
+        if (!Files.isDirectory(root)) return;
+        long cutoff = System.currentTimeMillis() - gracePeriod.toMillis();
+
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (report.getFilesDeleted() >= maxDeletesPerRun) return;
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    continue; // removed while we were walking
+                }
+                if (!attributes.isRegularFile()) continue;
+                report.setFilesScanned(report.getFilesScanned() + 1);
+                if (attributes.lastModifiedTime().toMillis() > cutoff) continue;
+
+                long freed;
+                try {
+                    freed = collect(file, attributes.size(), referenced, new Date(cutoff));
+                } catch (Exception e) {
+                    report.setFailures(report.getFailures() + 1);
+                    log.warn("Could not collect {}: {}", root.relativize(file), e.getMessage());
+                    continue;
+                }
+                if (freed >= 0) {
+                    report.setFilesDeleted(report.getFilesDeleted() + 1);
+                    report.setBytesReclaimed(report.getBytesReclaimed() + freed);
+                    Thread.sleep(pauseMillis);
+                }
+            }
+        }
+    }
+
+    // Returns the bytes freed, or -1 if the file was kept
+    private long collect(Path file, long size, BloomFilter referenced, Date cutoff) throws IOException {
+        String name = file.getFileName().toString();
+        if (name.startsWith(".")) return -1; // .gitkeep and friends
+
+        if (file.startsWith(imageStorageService.tmpRoot())) {
+            // Interrupted uploads; live ones are far younger than the grace period
+            return Files.deleteIfExists(file) ? size : -1;
+        }
+
+        if (file.startsWith(imageStorageService.blobRoot())) {
+            if (name.endsWith(".part")) {
+                // Interrupted variant writes, left next to their blob
+                return Files.deleteIfExists(file) ? size : -1;
+            }
+            Matcher variant = VARIANT.matcher(name);
+            if (variant.matches()) {
+                // Variants go with their blob; only clean up ones whose blob is already gone
+                String baseKey = variant.group(1) + "." + variant.group(2);
+                if (Files.exists(file.resolveSibling(baseKey))) return -1;
+                return Files.deleteIfExists(file) ? size : -1;
+            }
+            if (!ImageStorageService.isContentKey(name) || referenced.mightContain(name) || isReferenced(name)) {
+                return -1;
+            }
+            ImageBlob blob = mongoTemplate.findById(name, ImageBlob.class);
+            return imageStorageService.reclaim(name, blob == null ? null : blob.getRefCount(), cutoff);
+        }
+
+        String key = imageStorageService.uploadRoot().relativize(file).toString().replace('\\', '/');
+        // Old recipe uploads kept their original name, which cannot be told apart from files placed there by hand
+        // (such as the bundled sample images), so those are only collected when explicitly enabled
+        boolean legacyUpload = LEGACY_CHALLENGE.matcher(key).matches()
+                || (collectLegacyRecipeFiles && key.indexOf('/') < 0);
+        if (!legacyUpload) return -1;
+        if (referenced.mightContain(key) || isReferenced(key)) return -1;
+        long freed = imageStorageService.reclaimLegacy(key);
+        return freed > 0 ? freed : -1;
+    }
+
+    // Exact check for a file the Bloom filter has never seen, covering documents written after the scan
+    private boolean isReferenced(String key) {
+        List<String> forms = ImageStorageService.referenceForms(key);
+        return mongoTemplate.exists(new Query(Criteria.where("mediaUrl").in(forms)), RecipeModel.class)
+                || mongoTemplate.exists(new Query(Criteria.where("imageUrl").in(forms)), ChallengeModel.class);
+    }
+}
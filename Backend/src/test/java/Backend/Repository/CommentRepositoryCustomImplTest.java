@@ -0,0 +1,31 @@
+package Backend.Repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CommentRepositoryCustomImplTest {
+
+    @Test
+    void roundTripsTheSortKeyAndId() {
+        String cursor = CommentRepositoryCustomImpl.encodeCursor("1714557600123:6f1c0e4e-7a2b-4c1e-9d53-2b7f7f1c9a10");
+        assertArrayEquals(new String[] {"1714557600123", "6f1c0e4e-7a2b-4c1e-9d53-2b7f7f1c9a10"},
+                CommentRepositoryCustomImpl.decodeCursor(cursor));
+
+        // Ids may themselves contain the separator
+        assertArrayEquals(new String[] {"3", "a:b"},
+                CommentRepositoryCustomImpl.decodeCursor(CommentRepositoryCustomImpl.encodeCursor("3:a:b")));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> CommentRepositoryCustomImpl.decodeCursor("not base64!"));
+        assertThrows(IllegalArgumentException.class,
+                () -> CommentRepositoryCustomImpl.decodeCursor(CommentRepositoryCustomImpl.encodeCursor("null:abc")));
+        assertThrows(IllegalArgumentException.class,
+                () -> CommentRepositoryCustomImpl.decodeCursor(CommentRepositoryCustomImpl.encodeCursor("12")));
+        assertThrows(IllegalArgumentException.class,
+                () -> CommentRepositoryCustomImpl.decodeCursor(CommentRepositoryCustomImpl.encodeCursor("12:")));
+    }
+}
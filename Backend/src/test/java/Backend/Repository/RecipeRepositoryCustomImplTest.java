@@ -0,0 +1,68 @@
+package Backend.Repository;
+
+import Backend.DTO.RecipeSummary;
+import Backend.enums.RecipeSort;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecipeRepositoryCustomImplTest {
+
+    private static final ObjectId ID = new ObjectId("663212a0da12eb13c44d2a0b");
+
+    @Test
+    void newestCursorContinuesBelowTheLastId() {
+        String cursor = RecipeRepositoryCustomImpl.encodeCursor(RecipeSort.NEWEST, summary(null));
+
+        Document after = RecipeRepositoryCustomImpl.afterCursor(RecipeSort.NEWEST, cursor).getCriteriaObject();
+        assertEquals(new Document("_id", new Document("$lt", ID)), after);
+    }
+
+    @Test
+    void keyedCursorBreaksTiesOnIdInTheSortDirection() {
+        String cursor = RecipeRepositoryCustomImpl.encodeCursor(RecipeSort.QUICKEST, summary(30));
+
+        Document after = RecipeRepositoryCustomImpl.afterCursor(RecipeSort.QUICKEST, cursor).getCriteriaObject();
+        assertEquals(new Document("$or", List.of(
+                new Document("cookingTimeMinutes", new Document("$gt", 30.0)),
+                new Document("$and", List.of(
+                        new Document("cookingTimeMinutes", 30.0),
+                        new Document("_id", new Document("$gt", ID)))))), after);
+
+        Document slowest = RecipeRepositoryCustomImpl.afterCursor(RecipeSort.SLOWEST,
+                RecipeRepositoryCustomImpl.encodeCursor(RecipeSort.SLOWEST, summary(30))).getCriteriaObject();
+        assertEquals(new Document("$or", List.of(
+                new Document("cookingTimeMinutes", new Document("$lt", 30.0)),
+                new Document("$and", List.of(
+                        new Document("cookingTimeMinutes", 30.0),
+                        new Document("_id", new Document("$lt", ID)))))), slowest);
+    }
+
+    @Test
+    void rejectsMalformedOrForeignCursors() {
+        String quickest = RecipeRepositoryCustomImpl.encodeCursor(RecipeSort.QUICKEST, summary(30));
+
+        assertThrows(IllegalArgumentException.class, () -> RecipeRepositoryCustomImpl.afterCursor(RecipeSort.NEWEST, quickest));
+        assertThrows(IllegalArgumentException.class, () -> RecipeRepositoryCustomImpl.afterCursor(RecipeSort.NEWEST, "not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> RecipeRepositoryCustomImpl.afterCursor(RecipeSort.NEWEST, encode("NEWEST::nope")));
+        assertThrows(IllegalArgumentException.class, () -> RecipeRepositoryCustomImpl.afterCursor(RecipeSort.QUICKEST, encode("QUICKEST:abc:" + ID)));
+    }
+
+    private static RecipeSummary summary(Integer minutes) {
+        RecipeSummary summary = new RecipeSummary();
+        summary.setId(ID.toHexString());
+        summary.setCookingTimeMinutes(minutes);
+        return summary;
+    }
+
+    private static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,48 @@
+package Backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CookingTimeParserTest {
+
+    @Test
+    void readsCommonDisplayFormats() {
+        assertEquals(45, CookingTimeParser.parseMinutes("45"));
+        assertEquals(20, CookingTimeParser.parseMinutes("20 minutes"));
+        assertEquals(80, CookingTimeParser.parseMinutes("1 hr 20 mins"));
+        assertEquals(90, CookingTimeParser.parseMinutes("1.5 hours"));
+        assertEquals(90, CookingTimeParser.parseMinutes("1,5 h"));
+        assertEquals(90, CookingTimeParser.parseMinutes("1h30m"));
+        assertEquals(2880, CookingTimeParser.parseMinutes("2 days"));
+        assertEquals(75, CookingTimeParser.parseMinutes("About 1 Hour 15 Min"));
+    }
+
+    @Test
+    void countsRangesAsTheirUpperEnd() {
+        assertEquals(30, CookingTimeParser.parseMinutes("20-30 min"));
+        assertEquals(15, CookingTimeParser.parseMinutes("10 to 15 minutes"));
+        assertEquals(120, CookingTimeParser.parseMinutes("1–2 hours"));
+    }
+
+    @Test
+    void returnsNullWithoutADuration() {
+        assertNull(CookingTimeParser.parseMinutes(null));
+        assertNull(CookingTimeParser.parseMinutes(""));
+        assertNull(CookingTimeParser.parseMinutes("   "));
+        assertNull(CookingTimeParser.parseMinutes("quick"));
+    }
+
+    @Test
+    void bucketsUseExclusiveUpperBounds() {
+        assertNull(CookingTimeParser.bucket(null));
+        assertEquals("0-15", CookingTimeParser.bucket(0));
+        assertEquals("0-15", CookingTimeParser.bucket(14));
+        assertEquals("15-30", CookingTimeParser.bucket(15));
+        assertEquals("30-60", CookingTimeParser.bucket(59));
+        assertEquals("60-120", CookingTimeParser.bucket(60));
+        assertEquals("120+", CookingTimeParser.bucket(120));
+        assertEquals("120+", CookingTimeParser.bucket(2880));
+    }
+}
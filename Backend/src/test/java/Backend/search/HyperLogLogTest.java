@@ -0,0 +1,60 @@
+package Backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertEquals(0, HyperLogLog.estimate(new byte[HyperLogLog.REGISTERS]));
+    }
+
+    @Test
+    void estimatesWithinAFewStandardErrors() {
+        for (int n : new int[] {10, 100, 1_000, 10_000, 100_000, 1_000_000}) {
+            byte[] registers = sketch("viewer-" + n + "-", n, 1);
+            double error = Math.abs(HyperLogLog.estimate(registers) - n) / (double) n;
+            assertTrue(error < 0.07, n + " distinct values estimated with error " + error);
+        }
+    }
+
+    @Test
+    void repeatedValuesDoNotCount() {
+        byte[] once = sketch("user:", 5_000, 1);
+        byte[] thrice = sketch("user:", 5_000, 3);
+        assertEquals(HyperLogLog.estimate(once), HyperLogLog.estimate(thrice));
+    }
+
+    @Test
+    void mergingByMaximumMatchesOneSketchOfTheUnion() {
+        byte[] left = sketch("a", 20_000, 1);
+        byte[] right = sketch("a", 30_000, 1); // overlaps left on its first 20k values
+        byte[] merged = new byte[HyperLogLog.REGISTERS];
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] = (byte) Math.max(left[i], right[i]);
+        }
+        assertEquals(HyperLogLog.estimate(right), HyperLogLog.estimate(merged));
+    }
+
+    @Test
+    void rankIsCappedForHashesWithNoRemainingBits() {
+        assertEquals(64 - HyperLogLog.PRECISION + 1, HyperLogLog.rank(0L));
+        assertEquals(1, HyperLogLog.rank(1L << (63 - HyperLogLog.PRECISION)));
+        assertEquals(HyperLogLog.REGISTERS - 1, HyperLogLog.register(-1L));
+    }
+
+    private static byte[] sketch(String prefix, int distinct, int repeats) {
+        byte[] registers = new byte[HyperLogLog.REGISTERS];
+        for (int r = 0; r < repeats; r++) {
+            for (int i = 0; i < distinct; i++) {
+                long hash = Hashing.hash64(prefix + i);
+                int index = HyperLogLog.register(hash);
+                registers[index] = (byte) Math.max(registers[index], HyperLogLog.rank(hash));
+            }
+        }
+        return registers;
+    }
+}
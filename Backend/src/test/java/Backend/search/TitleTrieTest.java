@@ -0,0 +1,155 @@
+package Backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TitleTrieTest {
+
+    @Test
+    void completesPrefixesEndingOnAndInsideEdges() {
+        TitleTrie trie = new TitleTrie(10);
+        trie.put("a", "Chocolate Cake", List.of("chocolate cake"), 2);
+        trie.put("b", "Chocolate Chip Cookies", List.of("chocolate chip cookies"), 1);
+
+        assertEquals(List.of("a", "b"), ids(trie.complete("", 10)));
+        assertEquals(List.of("a", "b"), ids(trie.complete("choc", 10)));
+        assertEquals(List.of("a", "b"), ids(trie.complete("chocolate c", 10)));
+        assertEquals(List.of("a"), ids(trie.complete("chocolate ca", 10)));
+        assertEquals(List.of("b"), ids(trie.complete("chocolate chip cookies", 10)));
+        assertTrue(trie.complete("chocolate cakes", 10).isEmpty());
+        assertTrue(trie.complete("vanilla", 10).isEmpty());
+    }
+
+    @Test
+    void splitsAndRecompressesEdges() {
+        TitleTrie trie = new TitleTrie(10);
+        trie.put("cake", "Cake", List.of("cake"), 1);
+        trie.put("carrot", "Carrot", List.of("carrot"), 1); // splits "cake" at "ca"
+        trie.put("ca", "Ca", List.of("ca"), 1);             // terminal on the split node
+
+        assertEquals(List.of("ca", "cake", "carrot"), ids(trie.complete("ca", 10)));
+
+        trie.remove("ca");      // split node becomes a pass-through with two children
+        assertEquals(List.of("cake", "carrot"), ids(trie.complete("c", 10)));
+
+        trie.remove("carrot");  // pass-through with one child folds back into "cake"
+        assertEquals(List.of("cake"), ids(trie.complete("ca", 10)));
+        assertEquals(List.of("cake"), ids(trie.complete("cak", 10)));
+        assertTrue(trie.complete("car", 10).isEmpty());
+
+        trie.put("carrot", "Carrot", List.of("carrot"), 1); // and splits again
+        assertEquals(List.of("cake", "carrot"), ids(trie.complete("ca", 10)));
+        assertEquals(List.of("carrot"), ids(trie.complete("car", 10)));
+
+        trie.remove("cake");
+        trie.remove("carrot");
+        assertEquals(0, trie.size());
+        assertTrue(trie.complete("", 10).isEmpty());
+    }
+
+    @Test
+    void refillsCachedTopListsAfterRemoval() {
+        TitleTrie trie = new TitleTrie(3);
+        for (int weight = 1; weight <= 5; weight++) {
+            trie.put("p" + weight, "Pie " + weight, List.of("pie " + weight), weight);
+        }
+        assertEquals(List.of("p5", "p4", "p3"), ids(trie.complete("pie", 10)));
+
+        // p2 was never cached above the leaves; it has to come back from its own subtree
+        trie.remove("p5");
+        trie.remove("p4");
+        assertEquals(List.of("p3", "p2", "p1"), ids(trie.complete("pie", 10)));
+        assertEquals(List.of("p3", "p2"), ids(trie.complete("p", 2)));
+    }
+
+    @Test
+    void reweightingReordersAndReplacesKeys() {
+        TitleTrie trie = new TitleTrie(10);
+        trie.put("a", "Apple Pie", List.of("apple pie", "pie"), 1);
+        trie.put("b", "Pie Crust", List.of("pie crust"), 2);
+        assertEquals(List.of("b", "a"), ids(trie.complete("pie", 10)));
+
+        trie.put("a", "Apple Pie", List.of("apple pie", "pie"), 3);
+        assertEquals(List.of("a", "b"), ids(trie.complete("pie", 10)));
+
+        trie.put("a", "Banana Bread", List.of("banana bread", "bread"), 3);
+        assertEquals(List.of("b"), ids(trie.complete("pie", 10)));
+        assertTrue(trie.complete("apple", 10).isEmpty());
+        assertEquals(List.of("a"), ids(trie.complete("b", 10)));
+    }
+
+    @Test
+    void listsADocumentOnceAcrossSeveralKeys() {
+        TitleTrie trie = new TitleTrie(10);
+        trie.put("a", "Pie Pies", List.of("pie pies", "pies"), 1);
+        trie.put("b", "Pie", List.of("pie"), 0);
+
+        assertEquals(List.of("a", "b"), ids(trie.complete("pie", 10)));
+        assertEquals(List.of("a", "b"), ids(trie.complete("p", 10)));
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomOperations() {
+        Random random = new Random(42);
+        TitleTrie trie = new TitleTrie(5);
+        Map<String, List<String>> keysById = new HashMap<>();
+        Map<String, Long> weightById = new HashMap<>();
+
+        for (int op = 0; op < 20_000; op++) {
+            String id = "r" + random.nextInt(200);
+            if (random.nextInt(4) == 0) {
+                trie.remove(id);
+                keysById.remove(id);
+                weightById.remove(id);
+            } else {
+                List<String> keys = new ArrayList<>();
+                int count = 1 + random.nextInt(3);
+                for (int k = 0; k < count; k++) {
+                    keys.add(randomKey(random));
+                }
+                long weight = random.nextInt(20);
+                trie.put(id, id, keys, weight);
+                keysById.put(id, keys);
+                weightById.put(id, weight);
+            }
+
+            if (op % 10 == 0) {
+                String key = randomKey(random);
+                String prefix = key.substring(0, random.nextInt(key.length() + 1));
+                List<String> expected = keysById.entrySet().stream()
+                        .filter(e -> e.getValue().stream().anyMatch(k -> k.startsWith(prefix)))
+                        .map(Map.Entry::getKey)
+                        .sorted(Comparator.comparingLong((String i) -> weightById.get(i)).reversed()
+                                .thenComparing(Comparator.naturalOrder()))
+                        .limit(5)
+                        .collect(Collectors.toList());
+                assertEquals(expected, ids(trie.complete(prefix, 5)), "prefix '" + prefix + "' after op " + op);
+            }
+        }
+        assertEquals(keysById.size(), trie.size());
+    }
+
+    // Short keys over a tiny alphabet so prefixes are shared and edges split and merge often
+    private static String randomKey(Random random) {
+        StringBuilder key = new StringBuilder();
+        int length = 1 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            key.append("abc".charAt(random.nextInt(3)));
+        }
+        return key.toString();
+    }
+
+    private static List<String> ids(List<TitleTrie.Entry> entries) {
+        return entries.stream().map(TitleTrie.Entry::getId).collect(Collectors.toList());
+    }
+}
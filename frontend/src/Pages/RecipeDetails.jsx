@@ -1,6 +1,6 @@
 import React, { useEffect, useState } from 'react';
 import { useNavigate, useParams } from 'react-router-dom';
-import { getRecipeById, saveRating, saveComment, updateComment, deleteComment } from '../api/recipeApi';
+import { getRecipeById, getComments, saveRating, saveComment, updateComment, markCommentHelpful, deleteComment } from '../api/recipeApi';
 import { StarIcon } from '@heroicons/react/24/solid';
 import { ChatBubbleLeftRightIcon, ArrowUturnLeftIcon, TrashIcon, PencilSquareIcon } from '@heroicons/react/24/outline';
 
@@ -37,10 +37,10 @@ const RecipeDetails = () => {
     const fetchRecipe = async () => {
       try {
         setIsLoading(true);
-        const res = await getRecipeById(id);
+        const [res, commentsRes] = await Promise.all([getRecipeById(id), getComments(id)]);
         const recipeWithIds = {
           ...res.data,
-          comments: (res.data.comments || [])
+          comments: (commentsRes.data.items || [])
             .map(comment => ({
               ...comment,
               id: comment.id || Date.now().toString() + Math.random().toString(36).substr(2, 9),
@@ -101,7 +101,9 @@ const RecipeDetails = () => {
       setRecipe(res.data);
     } catch (err) {
       console.error('Failed to save rating:', err);
-      setError('Failed to save rating. Please try again.');
+      setError(err.response?.status === 401
+        ? 'Please sign in to rate recipes.'
+        : 'Failed to save rating. Please try again.');
     }
   };
 
@@ -235,10 +237,11 @@ const RecipeDetails = () => {
         helpful: 0
       };
 
-      await saveComment(id, newComment);
+      const res = await saveComment(id, newComment);
+      const savedComment = { ...newComment, id: res.data.id };
       setRecipe(prev => ({
         ...prev,
-        comments: [newComment, ...(prev.comments || [])]
+        comments: [savedComment, ...(prev.comments || [])]
       }));
       setCommentText('');
       setUserRating(0);
@@ -290,22 +293,19 @@ const RecipeDetails = () => {
 
   const handleHelpfulClick = async (commentId) => {
     try {
-      const comment = recipe.comments.find(c => c.id === commentId);
-      const updatedComment = {
-        ...comment,
-        helpful: (comment.helpful || 0) + 1
-      };
+      const res = await markCommentHelpful(id, commentId);
 
-      await updateComment(id, commentId, updatedComment);
-      
       setRecipe(prev => ({
         ...prev,
-        comments: prev.comments.map(c => 
-          c.id === commentId ? updatedComment : c
+        comments: prev.comments.map(c =>
+          c.id === commentId ? { ...c, helpful: res.data.helpful } : c
         )
       }));
     } catch (err) {
       console.error('Failed to update helpful count:', err);
+      if (err.response?.status === 401) {
+        setError('Please sign in to mark comments as helpful.');
+      }
     }
   };
 
@@ -26,6 +26,7 @@ const UpdateRecipe = () => {
   const [preview, setPreview] = useState(null);
   const [errors, setErrors] = useState({});
   const [isSubmitting, setIsSubmitting] = useState(false);
+  const [etag, setEtag] = useState(null);
 
   // Animation variants
   const containerVariants = {
@@ -71,6 +72,7 @@ const UpdateRecipe = () => {
       try {
         const res = await getRecipeById(id);
         const data = res.data;
+        setEtag(res.headers.etag);
         setRecipeData({
           title: data.title || '',
           description: data.description || '',
@@ -216,7 +218,7 @@ const UpdateRecipe = () => {
       };
 
       // Use the API service that handles file upload separately
-      const response = await updateRecipe(id, recipeUpdateData, file);
+      const response = await updateRecipe(id, recipeUpdateData, file, etag);
       
       toast.update(toastId, {
         render: 'Recipe updated successfully!',
@@ -230,8 +232,11 @@ const UpdateRecipe = () => {
       navigate('/recipe-table');
     } catch (error) {
       console.error('Error:', error);
+      const conflict = error.response?.status === 412;
       toast.update(toastId, {
-        render: error.message || 'Failed to update recipe. Please try again.',
+        render: conflict
+          ? 'This recipe was changed by someone else. Reload the page to get the latest version.'
+          : error.message || 'Failed to update recipe. Please try again.',
         type: 'error',
         isLoading: false,
         autoClose: 3000
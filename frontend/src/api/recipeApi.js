@@ -8,6 +8,10 @@ export const getAllRecipes = () => axios.get(`${BASE_URL}/recipes`);
 // ✅ Get a recipe by ID
 export const getRecipeById = (id) => axios.get(`${BASE_URL}/recipes/${id}`);
 
+// ✅ Get several recipes in one request; view "summary" returns card-sized summaries
+export const getRecipesByIds = (ids, view) =>
+  axios.get(`${BASE_URL}/recipes/batch`, { params: { ids: ids.join(","), view } });
+
 // ✅ Create a new recipe (JSON-based)
 export const createRecipe = (recipeData) =>
   axios.post(`${BASE_URL}/recipes`, recipeData);
@@ -23,7 +27,8 @@ export const uploadRecipeImage = (file) => {
 };
 
 // ✅ FIXED: Update recipe (multipart/form-data with JSON + optional image)
-export const updateRecipe = (id, recipeData, file) => {
+// etag is the ETag header from getRecipeById; the server rejects the update if the recipe changed since
+export const updateRecipe = (id, recipeData, file, etag) => {
   const formData = new FormData();
   formData.append("recipeDetails", JSON.stringify(recipeData)); // JSON stringified
   if (file) {
@@ -33,6 +38,7 @@ export const updateRecipe = (id, recipeData, file) => {
   return axios.put(`${BASE_URL}/recipes/update/${id}`, formData, {
     headers: {
       "Content-Type": "multipart/form-data",
+      "If-Match": etag,
     },
   });
 };
@@ -44,9 +50,19 @@ export const searchByCategory = (category) =>
 // ✅ Delete recipe
 export const deleteRecipe = (id) =>
   axios.delete(`${BASE_URL}/recipes/${id}`);
-// Save rating
+// Bearer token of the signed-in user, if any
+const authHeaders = () => {
+  const token = localStorage.getItem("token");
+  return token ? { Authorization: `Bearer ${token}` } : {};
+};
+
+// Save rating; requires sign-in, one rating per user
 export const saveRating = (id, rating) =>
-  axios.put(`${BASE_URL}/recipes/${id}/rate?rating=${rating}`);
+  axios.put(`${BASE_URL}/recipes/${id}/rate`, null, { params: { rating }, headers: authHeaders() });
+
+// Get a page of comments (newest first)
+export const getComments = (id, cursor, size = 50) =>
+  axios.get(`${BASE_URL}/recipes/${id}/comments`, { params: { cursor, size } });
 
 // Save comment
 export const saveComment = (id, comment) =>
@@ -57,6 +73,10 @@ export const saveComment = (id, comment) =>
 export const updateComment = (recipeId, commentId, commentData) =>
   axios.put(`${BASE_URL}/recipes/${recipeId}/comment/${commentId}`, commentData);
 
+// Mark a comment helpful; requires sign-in, each user counts once and repeated clicks are ignored by the server
+export const markCommentHelpful = (recipeId, commentId) =>
+  axios.put(`${BASE_URL}/recipes/${recipeId}/comment/${commentId}/helpful`, null, { headers: authHeaders() });
+
 // Delete comment
 export const deleteComment = (recipeId, commentId) =>
   axios.delete(`${BASE_URL}/recipes/${recipeId}/comment/${commentId}`);